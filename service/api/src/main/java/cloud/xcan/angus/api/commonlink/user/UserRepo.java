@@ -80,6 +80,18 @@ public interface UserRepo extends NameJoinRepository<User, Long>, BaseRepository
   @Query(value = "SELECT u.id FROM user0 u WHERE u.tenant_id = ?1  and u.deleted = 0 AND u.enabled =1", nativeQuery = true)
   Page<Long> findValidIdByTenantId(Long tenantId, Pageable page);
 
+  @Query(value = "SELECT u.id FROM user0 u WHERE u.id > ?1 AND u.deleted = 0 AND u.enabled =1 ORDER BY u.id LIMIT ?2", nativeQuery = true)
+  List<Long> findValidIdAfter(Long afterId, int size);
+
+  @Query(value = "SELECT u.id FROM user0 u WHERE u.tenant_id IN (?1) AND u.id > ?2 AND u.deleted = 0 AND u.enabled =1 ORDER BY u.id LIMIT ?3", nativeQuery = true)
+  List<Long> findValidIdByTenantIdInAfter(Collection<Long> tenantIds, Long afterId, int size);
+
+  @Query(value = "SELECT COUNT(*) FROM user0 u WHERE u.deleted = 0 AND u.enabled =1", nativeQuery = true)
+  long countValid();
+
+  @Query(value = "SELECT COUNT(*) FROM user0 u WHERE u.tenant_id = ?1  and u.deleted = 0 AND u.enabled =1", nativeQuery = true)
+  long countValidByTenantId(Long tenantId);
+
   @Query(value = "SELECT u.email FROM user0 u WHERE u.tenant_id IN (?1)  and u.deleted = 0 AND u.enabled =1", nativeQuery = true)
   Page<String> findValidEmailByTenantIdIn(Collection<?> tenantIds, Pageable page);
 
@@ -126,6 +138,8 @@ public interface UserRepo extends NameJoinRepository<User, Long>, BaseRepository
 
   List<User> findAllByUsername(String username);
 
+  List<User> findAllByUsernameIn(Collection<String> usernames);
+
   long countBySignupAccountAndSignupAccountType(String signupAccount, SignupType signupType);
 
   List<User> findBySignupAccountTypeAndEnabledAndSysAdminAndTenantId(
@@ -52,6 +52,18 @@ public interface DeptUserRepo extends BaseRepository<DeptUser, Long> {
           + "AND du.tenant_id = ?1 AND u.tenant_id = ?1 AND du.dept_id IN (?2) AND u.deleted = 0 AND u.enabled = 1", nativeQuery = true)
   Set<Long> findValidUserIdsByTenantIdAndDeptIds(Long tenantId, Collection<Long> deptIds);
 
+  @Query(value =
+      "SELECT DISTINCT u.id FROM dept_user du INNER JOIN user0 u ON du.user_id = u.id "
+          + "AND du.tenant_id = ?1 AND u.tenant_id = ?1 AND du.dept_id IN (?2) AND u.deleted = 0 AND u.enabled = 1 "
+          + "WHERE u.id > ?3 ORDER BY u.id LIMIT ?4", nativeQuery = true)
+  List<Long> findValidUserIdsByTenantIdAndDeptIdsAfter(Long tenantId, Collection<Long> deptIds,
+      Long afterId, int size);
+
+  @Query(value =
+      "SELECT COUNT(DISTINCT u.id) FROM dept_user du INNER JOIN user0 u ON du.user_id = u.id "
+          + "AND du.tenant_id = ?1 AND u.tenant_id = ?1 AND du.dept_id IN (?2) AND u.deleted = 0 AND u.enabled = 1", nativeQuery = true)
+  long countValidUserByTenantIdAndDeptIds(Long tenantId, Collection<Long> deptIds);
+
   @Query(value = "SELECT du.user_id FROM dept_user du WHERE du.dept_id IN (?1) ", nativeQuery = true)
   Set<Long> findUserIdsByDeptIds(Collection<Long> deptIds);
 
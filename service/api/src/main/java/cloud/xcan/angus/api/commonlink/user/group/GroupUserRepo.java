@@ -45,6 +45,16 @@ public interface GroupUserRepo extends BaseRepository<GroupUser, Long> {
       + "AND gu.tenant_id = ?1 AND u.tenant_id = ?1 AND gu.group_id IN (?2) AND u.deleted = 0 AND u.enabled = 1", nativeQuery = true)
   Set<Long> findValidUserIdsByTenantIdAndGroupIds(Long tenantId, Collection<Long> groupIds);
 
+  @Query(value = "SELECT DISTINCT u.id FROM group_user gu INNER JOIN user0 u ON gu.user_id = u.id "
+      + "AND gu.tenant_id = ?1 AND u.tenant_id = ?1 AND gu.group_id IN (?2) AND u.deleted = 0 AND u.enabled = 1 "
+      + "WHERE u.id > ?3 ORDER BY u.id LIMIT ?4", nativeQuery = true)
+  List<Long> findValidUserIdsByTenantIdAndGroupIdsAfter(Long tenantId, Collection<Long> groupIds,
+      Long afterId, int size);
+
+  @Query(value = "SELECT COUNT(DISTINCT u.id) FROM group_user gu INNER JOIN user0 u ON gu.user_id = u.id "
+      + "AND gu.tenant_id = ?1 AND u.tenant_id = ?1 AND gu.group_id IN (?2) AND u.deleted = 0 AND u.enabled = 1", nativeQuery = true)
+  long countValidUserByTenantIdAndGroupIds(Long tenantId, Collection<Long> groupIds);
+
   @Query(value =
       "SELECT u.username FROM group_user gu INNER JOIN user0 u ON du.user_id = u.id "
           + "AND gu.group_id IN (?1) AND u.deleted = 0 AND u.enabled = 1 AND u.online = ?2", nativeQuery = true)
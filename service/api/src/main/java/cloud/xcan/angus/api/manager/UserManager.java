@@ -9,6 +9,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface UserManager {
 
@@ -101,6 +102,21 @@ public interface UserManager {
 
   Set<Long> getAllValidUserIdsByTenantId(Long tenantId);
 
+  /**
+   * Streams the IDs of valid users in ascending ID chunks with keyset pagination, so callers do
+   * not hold the whole user population.
+   *
+   * @param tenantIds Tenants of the users, all users of the platform when null
+   * @param chunkSize Maximum number of IDs per chunk
+   * @param consumer  Consumer of each chunk
+   */
+  void streamValidUserIds(Collection<Long> tenantIds, int chunkSize,
+      Consumer<List<Long>> consumer);
+
+  long countAllValidUsers();
+
+  long countValidUsersByTenantId(Long tenantId);
+
   Set<Long> getValidUserIdsByGroupIds(Collection<Long> groupIds);
 
   Set<Long> getValidUserIdsByGroupIds(Long tenantId, Collection<Long> groupIds);
@@ -113,6 +129,32 @@ public interface UserManager {
 
   Set<Long> getUserIdsByDeptIds(Collection<Long> deptIds);
 
+  /**
+   * Gets the next chunk of valid user IDs of groups after the given ID, in ascending order.
+   *
+   * @param tenantId Tenant of the groups
+   * @param groupIds Group IDs
+   * @param afterId  Last user ID of the previous chunk, exclusive
+   * @param size     Maximum number of IDs
+   */
+  List<Long> getValidUserIdsByGroupIdsAfter(Long tenantId, Collection<Long> groupIds,
+      Long afterId, int size);
+
+  /**
+   * Gets the next chunk of valid user IDs of departments after the given ID, in ascending order.
+   *
+   * @param tenantId Tenant of the departments
+   * @param deptIds  Department IDs
+   * @param afterId  Last user ID of the previous chunk, exclusive
+   * @param size     Maximum number of IDs
+   */
+  List<Long> getValidUserIdsByDeptIdsAfter(Long tenantId, Collection<Long> deptIds,
+      Long afterId, int size);
+
+  long countValidUsersByGroupIds(Long tenantId, Collection<Long> groupIds);
+
+  long countValidUsersByDeptIds(Long tenantId, Collection<Long> deptIds);
+
   List<Long> getValidOrgAndUserIds();
 
   List<Long> getValidOrgAndUserIds(Long userId);
@@ -45,12 +45,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -501,34 +500,45 @@ public class UserManagerImpl implements UserManager {
 
   @Override
   public Set<Long> getAllValidUserIds() {
-    int page = -1;
     Set<Long> allUserIds = new HashSet<>();
-    Page<Long> userIdPage;
-    // Page<Long> userIdPage; -> Fix:: ClassCastException: class java.math.BigInteger cannot be cast to class java.lang.Long (java.math.BigInteger and java.lang.Long are in module java.base of loader 'bootstrap')at com.mysql.jdbc.ConnectionImpl.buildCollationMapping(Connec
-    do {
-      userIdPage = userRepo.findValidId(PageRequest.of(++page, 2000));
-      if (userIdPage.hasContent()) {
-        allUserIds.addAll(userIdPage.getContent());
-      }
-    } while (userIdPage.hasNext());
+    streamValidUserIds(null, 2000, allUserIds::addAll);
     return allUserIds;
   }
 
   @Override
   public Set<Long> getAllValidUserIdsByTenantId(Long tenantId) {
-    int page = -1;
     Set<Long> allUserIds = new HashSet<>();
-    Page<Long> userIdPage;
-    // Page<Long> userIdPage; -> Fix:: ClassCastException: class java.math.BigInteger cannot be cast to class java.lang.Long (java.math.BigInteger and java.lang.Long are in module java.base of loader 'bootstrap')at com.mysql.jdbc.ConnectionImpl.buildCollationMapping(Connec
+    streamValidUserIds(List.of(tenantId), 2000, allUserIds::addAll);
+    return allUserIds;
+  }
+
+  @Override
+  public void streamValidUserIds(Collection<Long> tenantIds, int chunkSize,
+      Consumer<List<Long>> consumer) {
+    // Keyset pagination on id: no count query and no growing offset scan per chunk
+    long afterId = -1L;
+    List<Long> userIds;
     do {
-      userIdPage = userRepo.findValidIdByTenantId(tenantId, PageRequest.of(++page, 2000));
-      if (userIdPage.hasContent()) {
-        allUserIds.addAll(userIdPage.getContent());
+      userIds = tenantIds == null ? userRepo.findValidIdAfter(afterId, chunkSize)
+          : userRepo.findValidIdByTenantIdInAfter(tenantIds, afterId, chunkSize);
+      if (!userIds.isEmpty()) {
+        consumer.accept(userIds);
+        afterId = userIds.get(userIds.size() - 1);
       }
-    } while (userIdPage.hasNext());
-    return allUserIds;
+    } while (userIds.size() == chunkSize);
+  }
+
+  @Override
+  public long countAllValidUsers() {
+    return userRepo.countValid();
+  }
+
+  @Override
+  public long countValidUsersByTenantId(Long tenantId) {
+    return userRepo.countValidByTenantId(tenantId);
   }
 
+
   @Override
   public Set<Long> getValidUserIdsByGroupIds(Collection<Long> groupIds) {
     return groupUserRepo.findValidUserIdsByGroupIds(groupIds);
@@ -559,6 +569,30 @@ public class UserManagerImpl implements UserManager {
     return deptUserRepo.findUserIdsByDeptIds(deptIds);
   }
 
+  @Override
+  public List<Long> getValidUserIdsByGroupIdsAfter(Long tenantId, Collection<Long> groupIds,
+      Long afterId, int size) {
+    return groupUserRepo.findValidUserIdsByTenantIdAndGroupIdsAfter(tenantId, groupIds,
+        afterId, size);
+  }
+
+  @Override
+  public List<Long> getValidUserIdsByDeptIdsAfter(Long tenantId, Collection<Long> deptIds,
+      Long afterId, int size) {
+    return deptUserRepo.findValidUserIdsByTenantIdAndDeptIdsAfter(tenantId, deptIds,
+        afterId, size);
+  }
+
+  @Override
+  public long countValidUsersByGroupIds(Long tenantId, Collection<Long> groupIds) {
+    return groupUserRepo.countValidUserByTenantIdAndGroupIds(tenantId, groupIds);
+  }
+
+  @Override
+  public long countValidUsersByDeptIds(Long tenantId, Collection<Long> deptIds) {
+    return deptUserRepo.countValidUserByTenantIdAndDeptIds(tenantId, deptIds);
+  }
+
   @Override
   public List<Long> getValidOrgAndUserIds() {
     Long currentUserId = PrincipalContext.getUserId();
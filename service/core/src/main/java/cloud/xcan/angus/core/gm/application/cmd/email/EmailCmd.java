@@ -9,7 +9,7 @@ public interface EmailCmd {
 
   void send(Email email, boolean testServer);
 
-  void sendByJob(Email email);
+  void sendByJob(List<Email> emails);
 
   void checkVerificationCode(EmailBizKey bizKey, String email, String verificationCode);
 
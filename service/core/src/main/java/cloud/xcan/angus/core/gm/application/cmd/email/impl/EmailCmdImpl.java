@@ -48,6 +48,7 @@ import cloud.xcan.angus.core.gm.domain.email.EmailRepo;
 import cloud.xcan.angus.core.gm.domain.email.server.EmailProtocol;
 import cloud.xcan.angus.core.gm.domain.email.server.EmailServer;
 import cloud.xcan.angus.core.gm.domain.email.template.EmailTemplate;
+import cloud.xcan.angus.core.gm.infra.mail.EmailDeliveryEngine;
 import cloud.xcan.angus.core.gm.infra.mail.EmailSender;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import cloud.xcan.angus.core.utils.GsonUtils;
@@ -58,12 +59,15 @@ import jakarta.annotation.Resource;
 import jakarta.mail.MessagingException;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.SneakyThrows;
@@ -111,6 +115,8 @@ public class EmailCmdImpl extends CommCmd<Email, Long> implements EmailCmd {
   @Resource
   private EmailSender emailSender;
   @Resource
+  private EmailDeliveryEngine emailDeliveryEngine;
+  @Resource
   private RedisService<String> stringRedisService;
 
   /**
@@ -205,30 +211,72 @@ public class EmailCmdImpl extends CommCmd<Email, Long> implements EmailCmd {
   }
 
   /**
-   * Sends email by job with template support.
+   * Sends a batch of pending emails by job.
+   *
+   * <p>The email server and the templates are resolved once for the batch instead of once per
+   * email. Due emails are sent in parallel by {@link EmailDeliveryEngine} within the server and
+   * recipient domain limits, urgent emails first, and their results are left on the emails for
+   * the job to persist in bulk. Emails not due yet are left pending.</p>
    *
    * <p>Note: Future enhancement to support resending after failure.</p>
    *
-   * @param email Email entity to send
+   * @param emails Pending emails to send
    */
   @DoInFuture("Support resending after failure")
   @Override
-  public void sendByJob(Email email) {
+  public void sendByJob(List<Email> emails) {
     new BizTemplate<Void>() {
       @SneakyThrows
       @Override
       protected Void process() {
         EmailServer emailServerDb = emailServerQuery.findEnabled(EmailProtocol.SMTP);
-        if (email.isTemplateEmail()) {
-          send0(false, email, emailQuery.checkAndFindTemplate(email), emailServerDb);
-        } else {
-          send0(false, email, null, emailServerDb);
+        Map<String, EmailTemplate> templates = new HashMap<>();
+        List<Callable<Void>> sends = new ArrayList<>();
+        // Verification codes are sent right away as urgent emails are
+        List<Email> dueEmails = emails.stream()
+            .filter(email -> Boolean.TRUE.equals(email.getVerificationCode()) || email.isSendNow())
+            .sorted(Comparator.comparing(email -> !Boolean.TRUE.equals(email.getUrgent())
+                && !Boolean.TRUE.equals(email.getVerificationCode())))
+            .collect(Collectors.toList());
+        for (Email email : dueEmails) {
+          // Retry is unsupported
+          email.setSendRetryNum(0);
+          EmailTemplate template;
+          try {
+            template = email.isTemplateEmail() ? templates.computeIfAbsent(getTemplateKey(email),
+                key -> emailQuery.checkAndFindTemplate(email)) : null;
+          } catch (Exception e) {
+            email.setSendStatus(ProcessStatus.FAILURE).setFailureReason(e.getMessage());
+            continue;
+          }
+          if (nonNull(template)) {
+            email.setTemplateCode(template.getCode());
+          }
+          sends.add(() -> {
+            sendEmailNow(email, template, emailServerDb, true);
+            email.setActualSendDate(LocalDateTime.now());
+            return null;
+          });
+        }
+
+        emailDeliveryEngine.executeAll(sends);
+
+        // Cache verification code when it is sent successfully
+        for (Email email : dueEmails) {
+          if (Boolean.TRUE.equals(email.getVerificationCode())
+              && ProcessStatus.SUCCESS.equals(email.getSendStatus())) {
+            cacheVerificationCode(email, templates.get(getTemplateKey(email)));
+          }
         }
         return null;
       }
     }.execute();
   }
 
+  private static String getTemplateKey(Email email) {
+    return email.getBizKey() + ":" + email.getLanguage();
+  }
+
   /**
    * Validates verification code from email.
    *
@@ -321,7 +369,7 @@ public class EmailCmdImpl extends CommCmd<Email, Long> implements EmailCmd {
     if (serverTest || email.getVerificationCode() || email.isSendNow()) {
       try {
         // Send urgent email directly
-        sendEmailNow(email, template, enabledServer);
+        sendEmailNow(email, template, enabledServer, false);
         email.setActualSendDate(LocalDateTime.now());
         emailRepo.save(email);
 
@@ -357,19 +405,16 @@ public class EmailCmdImpl extends CommCmd<Email, Long> implements EmailCmd {
    * @param email         Email entity to send
    * @param template      Email template
    * @param enabledServer Email server configuration
+   * @param limited       Whether to send within the concurrency limits of the delivery engine
    */
-  private void sendEmailNow(Email email, EmailTemplate template, EmailServer enabledServer) {
+  private void sendEmailNow(Email email, EmailTemplate template, EmailServer enabledServer,
+      boolean limited) {
     if (!email.getBatch()) {
       // Note: All platform users must send one email to one address
       for (String toAddr : email.getToAddrData()) {
         email.setActualToAddrData(Collections.singleton(toAddr));
         try {
-          if (!email.isTemplateEmail() || isEmpty(email.getTemplateParamData())
-              || email.getTemplateParamData().size() <= 1) {
-            emailSender.sendMessage(enabledServer, template, email);
-          } else {
-            emailSender.sendBatchMessage(enabledServer, template, email);
-          }
+          deliver(email, template, enabledServer, toAddr, limited);
           email.setSendStatus(ProcessStatus.SUCCESS);
         } catch (Exception e) {
           // Allow exception when send from all platform users
@@ -382,12 +427,7 @@ public class EmailCmdImpl extends CommCmd<Email, Long> implements EmailCmd {
     } else {
       email.setActualToAddrData(email.getToAddrData());
       try {
-        if (!email.isTemplateEmail() || isEmpty(email.getTemplateParamData())
-            || email.getTemplateParamData().size() <= 1) {
-          emailSender.sendMessage(enabledServer, template, email);
-        } else {
-          emailSender.sendBatchMessage(enabledServer, template, email);
-        }
+        deliver(email, template, enabledServer, null, limited);
         email.setSendStatus(ProcessStatus.SUCCESS);
       } catch (Exception e) {
         email.setSendStatus(ProcessStatus.FAILURE).setFailureReason(e.getMessage());
@@ -395,6 +435,31 @@ public class EmailCmdImpl extends CommCmd<Email, Long> implements EmailCmd {
     }
   }
 
+  /**
+   * Sends email to its actual addresses, within the limits of the delivery engine when limited.
+   *
+   * @param toAddr Single recipient address, or null when sent to multiple addresses
+   */
+  private void deliver(Email email, EmailTemplate template, EmailServer enabledServer,
+      String toAddr, boolean limited) throws Exception {
+    if (!limited) {
+      deliver0(email, template, enabledServer);
+      return;
+    }
+    emailDeliveryEngine.send(enabledServer, toAddr,
+        () -> deliver0(email, template, enabledServer));
+  }
+
+  private void deliver0(Email email, EmailTemplate template, EmailServer enabledServer)
+      throws Exception {
+    if (!email.isTemplateEmail() || isEmpty(email.getTemplateParamData())
+        || email.getTemplateParamData().size() <= 1) {
+      emailSender.sendMessage(enabledServer, template, email);
+    } else {
+      emailSender.sendBatchMessage(enabledServer, template, email);
+    }
+  }
+
   /**
    * Retrieves email addresses for different recipient object types.
    *
@@ -95,7 +95,7 @@ public class EmailServerCmdImpl extends CommCmd<EmailServer, Long> implements Em
 
         // Update email sender instance for SMTP servers
         if (server.isValidSmtpServer()) {
-          emailSender.initOrRefreshEmailSender(server);
+          emailSender.refreshEmailServer(server);
         }
 
         // Record operation audit log
@@ -193,7 +193,7 @@ public class EmailServerCmdImpl extends CommCmd<EmailServer, Long> implements Em
 
         // Update email sender instance for SMTP servers
         if (server.isValidSmtpServer()) {
-          emailSender.setupMailSender(server);
+          emailSender.refreshEmailServer(server);
         }
 
         // Record operation audit log
@@ -9,6 +9,7 @@ import cloud.xcan.angus.core.gm.application.cmd.email.EmailTemplateCmd;
 import cloud.xcan.angus.core.gm.application.cmd.operation.OperationLogCmd;
 import cloud.xcan.angus.core.gm.domain.email.template.EmailTemplate;
 import cloud.xcan.angus.core.gm.domain.email.template.EmailTemplateRepo;
+import cloud.xcan.angus.core.gm.infra.mail.EmailSender;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import jakarta.annotation.Resource;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +33,8 @@ public class EmailTemplateCmdImpl extends CommCmd<EmailTemplate, Long> implement
   private EmailTemplateRepo emailTemplateRepo;
   @Resource
   private OperationLogCmd operationLogCmd;
+  @Resource
+  private EmailSender emailSender;
 
   /**
    * Updates an email template with comprehensive validation.
@@ -53,6 +56,9 @@ public class EmailTemplateCmdImpl extends CommCmd<EmailTemplate, Long> implement
       protected Void process() {
         // Update template and record audit log
         EmailTemplate templateDb = updateOrNotFound(emailTemplate);
+        // Drop templates compiled from the previous content
+        emailSender.invalidateTemplate(templateDb.getCode());
+
         operationLogCmd.add(EMAIL_TEMPLATE, templateDb, UPDATED);
         return null;
       }
@@ -3,17 +3,14 @@ package cloud.xcan.angus.core.gm.application.cmd.event;
 import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
 import cloud.xcan.angus.core.gm.infra.remote.push.ChannelSendResponse;
-import cloud.xcan.angus.core.gm.infra.remote.push.ThirdPushClient;
-import feign.Feign;
-import feign.Target;
-import feign.codec.Decoder;
-import feign.codec.Encoder;
-import org.springframework.beans.factory.annotation.Autowired;
+import cloud.xcan.angus.core.gm.infra.remote.push.PushHttpTransport;
+import jakarta.annotation.Resource;
 
 
 public abstract class EventChannelPushCmdAbstract implements EventChannelPushCmd {
 
-  public ThirdPushClient thirdPushClient;
+  @Resource
+  public PushHttpTransport pushHttpTransport;
 
   @Override
   public abstract ChannelSendResponse push(EventPush eventPush);
@@ -21,9 +18,4 @@ public abstract class EventChannelPushCmdAbstract implements EventChannelPushCmd
   @Override
   public abstract ReceiveChannelType getPkey();
 
-  @Autowired
-  public void callerService(Decoder decoder, Encoder encoder) {
-    thirdPushClient = Feign.builder().encoder(encoder)
-        .decoder(decoder).target(Target.EmptyTarget.create(ThirdPushClient.class));
-  }
 }
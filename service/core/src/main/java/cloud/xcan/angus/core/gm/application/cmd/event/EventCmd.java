@@ -9,6 +9,8 @@ public interface EventCmd {
 
   List<IdKey<Long, Object>> add(List<Event> events);
 
+  List<IdKey<Long, Object>> add0(List<Event> events);
+
   void genPushEvent(List<Event> events);
 
   void update0(List<Event> collect);
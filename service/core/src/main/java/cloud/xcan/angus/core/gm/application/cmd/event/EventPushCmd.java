@@ -10,6 +10,12 @@ public interface EventPushCmd {
 
   void sendByJob(EventPush eventPush);
 
+  void pushByJob(EventPush eventPush);
+
+  void pushDigestByJob(List<EventPush> eventPushes);
+
+  void updatePushResults(List<EventPush> eventPushes);
+
   void add0(ArrayList<EventPush> eventPushes);
 
   void update0(List<EventPush> emails);
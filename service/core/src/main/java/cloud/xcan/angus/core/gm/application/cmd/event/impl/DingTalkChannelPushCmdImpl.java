@@ -5,7 +5,6 @@ import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
 import cloud.xcan.angus.core.gm.infra.remote.push.ChannelSendResponse;
 import cloud.xcan.angus.core.gm.infra.remote.push.DingTalkRobotRequest;
-import java.net.URI;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -51,8 +50,8 @@ public class DingTalkChannelPushCmdImpl extends EventChannelPushCmdAbstract {
           eventPush.getContent()));
 
       // Send request to DingTalk robot webhook
-      Map<?, ?> result = thirdPushClient
-          .dingTalk(URI.create(eventPush.getAddress()), dingTalkRobotRequest);
+      Map<?, ?> result = pushHttpTransport.postForMap(eventPush.getAddress(),
+          dingTalkRobotRequest);
 
       // Parse response and return appropriate status
       return new ChannelSendResponse(Integer.parseInt(result.get("errcode").toString()) == 0,
@@ -19,6 +19,7 @@ import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.channel.EventChannel;
 import cloud.xcan.angus.core.gm.domain.event.channel.EventChannelRepo;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
+import cloud.xcan.angus.core.gm.infra.config.EventChannelCache;
 import cloud.xcan.angus.core.gm.infra.remote.push.ChannelSendResponse;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import cloud.xcan.angus.spec.experimental.IdKey;
@@ -54,6 +55,8 @@ public class EventChannelCmdImpl extends CommCmd<EventChannel, Long> implements
   private HashMap<ReceiveChannelType, EventChannelPushCmd> eventChannelPushMap;
   @Resource
   private OperationLogCmd operationLogCmd;
+  @Resource
+  private EventChannelCache eventChannelCache;
 
   /**
    * Creates a new event channel with comprehensive validation.
@@ -130,6 +133,8 @@ public class EventChannelCmdImpl extends CommCmd<EventChannel, Long> implements
 
         // Update existing channel configuration
         eventChannelRepo.save(copyPropertiesIgnoreTenantAuditing(channel, channelDb, "type"));
+        // Evict cached template channels on all instances
+        eventChannelCache.clearAll();
 
         // Record operation audit log
         operationLogCmd.add(EVENT_CHANNEL, channelDb, UPDATED);
@@ -169,6 +174,8 @@ public class EventChannelCmdImpl extends CommCmd<EventChannel, Long> implements
       protected Void process() {
         // Delete channel configuration
         eventChannelRepo.deleteById(id);
+        // Evict cached template channels on all instances
+        eventChannelCache.clearAll();
         // Record operation audit log
         operationLogCmd.add(EVENT_CHANNEL, channelDb, DELETED);
         return null;
@@ -1,7 +1,5 @@
 package cloud.xcan.angus.core.gm.application.cmd.event.impl;
 
-import static cloud.xcan.angus.api.commonlink.EventConstant.EVENT_DUPLICATE_KEY_EXPIRE;
-import static cloud.xcan.angus.api.commonlink.EventConstant.EVENT_DUPLICATE_REDIS_KEY;
 import static cloud.xcan.angus.core.gm.application.converter.EventConverter.eventToNoticeMessage;
 import static cloud.xcan.angus.core.gm.application.converter.EventConverter.toPushEvent;
 import static cloud.xcan.angus.core.gm.domain.EventMessage.EVENT_PUSH_INVALID;
@@ -9,7 +7,7 @@ import static cloud.xcan.angus.core.gm.domain.EventMessage.EVENT_PUSH_TEMPLATE_N
 import static cloud.xcan.angus.core.gm.domain.EventMessage.EVENT_PUSH_TEMPLATE_SETTING_NOT_FOUND_T;
 import static cloud.xcan.angus.spec.principal.PrincipalContext.getDefaultLanguage;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.isEmpty;
-import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+import static java.util.Collections.emptyMap;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.ObjectUtils.isNotEmpty;
 
@@ -26,16 +24,18 @@ import cloud.xcan.angus.core.gm.domain.event.EventRepo;
 import cloud.xcan.angus.core.gm.domain.event.channel.EventChannel;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPushStatus;
+import cloud.xcan.angus.core.gm.infra.event.EventDuplicateFilter;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
-import cloud.xcan.angus.lettucex.util.RedisService;
 import cloud.xcan.angus.spec.experimental.IdKey;
 import cloud.xcan.angus.spec.locale.MessageHolder;
 import jakarta.annotation.Resource;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -71,7 +71,7 @@ public class EventCmdImpl extends CommCmd<Event, Long> implements EventCmd {
   @Resource
   private CombinedNoticeDoorRemote noticeDoorRemote;
   @Resource
-  private RedisService<String> stringRedisService;
+  private EventDuplicateFilter eventDuplicateFilter;
   @Value("${xcan.event.gmApiUrlPrefix}")
   private String eventUrlPrefix;
 
@@ -97,37 +97,7 @@ public class EventCmdImpl extends CommCmd<Event, Long> implements EventCmd {
       @Override
       protected List<IdKey<Long, Object>> process() {
         try {
-          // Filter duplicate events using Redis locks
-          List<Event> duplicatedEvents = getDuplicatedEvents(events);
-          if (isEmpty(duplicatedEvents)) {
-            return null;
-          }
-
-          List<IdKey<Long, Object>> idKeys = new ArrayList<>();
-
-          // Process notice type events immediately
-          List<Event> noticeTypeEvents = duplicatedEvents.stream().filter(
-              event -> event.getSourceData().isNoticeType()).collect(Collectors.toList());
-          if (isNotEmpty(noticeTypeEvents)) {
-            setEventName(noticeTypeEvents);
-            sendNoticeTypeMessage(noticeTypeEvents);
-            // @Transactional <- Use the inner @Transactional
-            idKeys.addAll(batchInsert(noticeTypeEvents));
-          }
-
-          // Store non-notice type events for later processing
-          List<Event> nonNoticeTypeEvents = duplicatedEvents.stream().filter(
-              event -> !event.getSourceData().isNoticeType()).collect(Collectors.toList());
-          if (isNotEmpty(nonNoticeTypeEvents)) {
-            for (Event event : nonNoticeTypeEvents) {
-              setEventName(nonNoticeTypeEvents);
-              event.setPushStatus(EventPushStatus.PENDING);
-            }
-            // @Transactional <- Use the inner @Transactional
-            idKeys.addAll(batchInsert(nonNoticeTypeEvents));
-          }
-
-          return idKeys;
+          return add0(events);
         } catch (Exception e) {
           // Important: Prevent triggering circular exception events in case of exception
           log.error("Save events exception:", e);
@@ -137,6 +107,59 @@ public class EventCmdImpl extends CommCmd<Event, Long> implements EventCmd {
     }.execute();
   }
 
+  /**
+   * Adds multiple events like {@link #add(List)}, exceptions are thrown to the caller.
+   *
+   * <p>Used by buffered ingestion, which keeps events that failed to be stored.</p>
+   *
+   * @param events List of events to create
+   * @return List of created event identifiers
+   */
+  @Override
+  public List<IdKey<Long, Object>> add0(List<Event> events) {
+    // Filter duplicate events using Redis locks
+    List<Event> duplicatedEvents = eventDuplicateFilter.filter(events);
+    if (isEmpty(duplicatedEvents)) {
+      return null;
+    }
+
+    List<IdKey<Long, Object>> idKeys = new ArrayList<>();
+    List<Event> noticeTypeEvents = duplicatedEvents.stream().filter(
+        event -> event.getSourceData().isNoticeType()).collect(Collectors.toList());
+    List<Event> nonNoticeTypeEvents = duplicatedEvents.stream().filter(
+        event -> !event.getSourceData().isNoticeType()).collect(Collectors.toList());
+    // Events not stored yet, their duplicate keys are released when storing fails so they are
+    // accepted again when stored again, e.g. from a spill file of buffered ingestion
+    List<Event> unstoredEvents = duplicatedEvents;
+    try {
+      // Process notice type events immediately
+      if (isNotEmpty(noticeTypeEvents)) {
+        setEventName(noticeTypeEvents);
+        // Keep the keys of notice events once their notifications are sent, a retry must not
+        // send them again even if storing them fails
+        unstoredEvents = nonNoticeTypeEvents;
+        sendNoticeTypeMessage(noticeTypeEvents);
+        // @Transactional <- Use the inner @Transactional
+        idKeys.addAll(batchInsert(noticeTypeEvents));
+      }
+      unstoredEvents = nonNoticeTypeEvents;
+
+      // Store non-notice type events for later processing
+      if (isNotEmpty(nonNoticeTypeEvents)) {
+        setEventName(nonNoticeTypeEvents);
+        for (Event event : nonNoticeTypeEvents) {
+          event.setPushStatus(EventPushStatus.PENDING);
+        }
+        // @Transactional <- Use the inner @Transactional
+        idKeys.addAll(batchInsert(nonNoticeTypeEvents));
+      }
+    } catch (RuntimeException e) {
+      eventDuplicateFilter.release(unstoredEvents);
+      throw e;
+    }
+    return idKeys;
+  }
+
   /**
    * Generates push events for notification processing.
    *
@@ -159,10 +182,23 @@ public class EventCmdImpl extends CommCmd<Event, Long> implements EventCmd {
       protected Void process() {
         Locale locale = getDefaultLanguage().toLocale();
 
+        // Resolve templates and channels of the whole batch in advance
+        Map<String, EventTemplate> templateMap = eventTemplateQuery.findByEventCodes(
+            events.stream().map(Event::getCode).filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<Long, Map<Long, List<EventChannel>>> tenantChannelsMap = new HashMap<>();
+        Map<Long, Set<Long>> tenantTemplateIds = events.stream()
+            .filter(event -> nonNull(event.getTenantId())
+                && templateMap.containsKey(event.getCode()))
+            .collect(Collectors.groupingBy(Event::getTenantId, Collectors.mapping(
+                event -> templateMap.get(event.getCode()).getId(), Collectors.toSet())));
+        tenantTemplateIds.forEach((tenantId, templateIds) -> tenantChannelsMap.put(tenantId,
+            eventChannelQuery.findByTemplateIds(tenantId, templateIds)));
+
         ArrayList<EventPush> configuredEventPushes = new ArrayList<>();
         for (Event event : events) {
           // Mark event as ignored when no template is configured
-          EventTemplate eventTemplate = eventTemplateQuery.findByEventCode(event.getCode());
+          EventTemplate eventTemplate = templateMap.get(event.getCode());
           if (isEmpty(eventTemplate)) {
             event.setPushStatus(EventPushStatus.IGNORED);
             event.setPushMsg(MessageHolder.message(EVENT_PUSH_TEMPLATE_NOT_FOUND, locale));
@@ -170,8 +206,8 @@ public class EventCmdImpl extends CommCmd<Event, Long> implements EventCmd {
           }
 
           // Mark event as ignored when no channel is configured
-          List<EventChannel> eventChannels = eventChannelQuery
-              .findByTemplateId(event.getTenantId(), eventTemplate.getId());
+          List<EventChannel> eventChannels = tenantChannelsMap
+              .getOrDefault(event.getTenantId(), emptyMap()).get(eventTemplate.getId());
           if (isEmpty(eventChannels)) {
             event.setPushStatus(EventPushStatus.IGNORED);
             String message = MessageHolder.message(EVENT_PUSH_TEMPLATE_SETTING_NOT_FOUND_T,
@@ -211,48 +247,18 @@ public class EventCmdImpl extends CommCmd<Event, Long> implements EventCmd {
     eventRepo.saveAll(events);
   }
 
-  /**
-   * Filters duplicate events using Redis-based locking mechanism.
-   *
-   * <p>This method prevents duplicate event processing by:</p>
-   * <ul>
-   *   <li>Using Redis locks with duplicate keys</li>
-   *   <li>Setting expiration time for locks</li>
-   *   <li>Filtering out events that cannot acquire locks</li>
-   * </ul>
-   *
-   * @param events List of events to filter
-   * @return List of non-duplicate events
-   */
-  private List<Event> getDuplicatedEvents(List<Event> events) {
-    List<Event> duplicatedEvents = new ArrayList<>();
-    for (Event event : events) {
-      if (nonNull(event.getDuplicateKey())) {
-        // Try to acquire Redis lock for duplicate prevention
-        Boolean lockRes = stringRedisService.setIfAbsent(
-            EVENT_DUPLICATE_REDIS_KEY + event.getDuplicateKey(),
-            LocalDateTime.now().format(ISO_LOCAL_DATE_TIME),
-            EVENT_DUPLICATE_KEY_EXPIRE, TimeUnit.MINUTES);
-        if (lockRes) {
-          duplicatedEvents.add(event);
-        } else {
-          log.info("Delete duplicated event within {} minutes, event: {}",
-              EVENT_DUPLICATE_KEY_EXPIRE, event);
-        }
-      }
-    }
-    return duplicatedEvents;
-  }
-
   /**
    * Sets event names from cached templates.
    *
    * @param events List of events to set names for
    */
   private void setEventName(List<Event> events) {
+    // Retrieve cached templates
+    Map<String, EventTemplate> templateMap = eventTemplateQuery.findByEventCodes(
+        events.stream().map(Event::getCode).filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
     for (Event event : events) {
-      // Retrieve cached template
-      EventTemplate template = eventTemplateQuery.findByEventCode(event.getCode());
+      EventTemplate template = templateMap.get(event.getCode());
       event.setName(nonNull(template) ? template.getEventName() : "UNKNOWN");
     }
   }
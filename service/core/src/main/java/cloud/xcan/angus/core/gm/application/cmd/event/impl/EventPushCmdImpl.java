@@ -1,6 +1,9 @@
 package cloud.xcan.angus.core.gm.application.cmd.event.impl;
 
+import static cloud.xcan.angus.api.commonlink.EventConstant.MAX_EVENT_RESULT_MSG_LENGTH;
 import static cloud.xcan.angus.core.gm.domain.event.push.EventPushStatus.PUSH_FAIL;
+import static cloud.xcan.angus.spec.utils.ObjectUtils.isEmpty;
+import static cloud.xcan.angus.spec.utils.ObjectUtils.lengthSafe;
 
 import cloud.xcan.angus.core.biz.BizTemplate;
 import cloud.xcan.angus.core.biz.cmd.CommCmd;
@@ -10,16 +13,20 @@ import cloud.xcan.angus.core.gm.domain.event.EventRepo;
 import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPushRepo;
-import cloud.xcan.angus.core.gm.domain.event.push.EventPushStatus;
+import cloud.xcan.angus.core.gm.infra.event.EventPushRetryPolicy;
+import cloud.xcan.angus.core.gm.infra.event.RobotRateLimiter;
 import cloud.xcan.angus.core.gm.infra.remote.push.ChannelSendResponse;
 import cloud.xcan.angus.core.gm.interfaces.event.facade.internal.assembler.EventAssembler;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import cloud.xcan.angus.spec.utils.StringUtils;
 import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -48,17 +55,16 @@ public class EventPushCmdImpl extends CommCmd<EventPush, Long> implements EventP
   private EventRepo eventRepo;
   @Resource
   private HashMap<ReceiveChannelType, EventChannelPushCmd> pushServiceMap;
+  @Resource
+  private EventPushRetryPolicy eventPushRetryPolicy;
+  @Resource
+  private RobotRateLimiter robotRateLimiter;
 
   /**
    * Sends event push notification via job processing.
    *
-   * <p>This method performs push sending including:</p>
-   * <ul>
-   *   <li>Signing channel-specific addresses (e.g., DingTalk)</li>
-   *   <li>Sending push via appropriate channel service</li>
-   *   <li>Updating push status and retry count</li>
-   *   <li>Managing event main status updates</li>
-   * </ul>
+   * <p>This method pushes the event and persists the result immediately, batch senders should
+   * use {@link #pushByJob(EventPush)} and {@link #updatePushResults(List)} instead.</p>
    *
    * @param eventPush Event push data to send
    */
@@ -68,35 +74,128 @@ public class EventPushCmdImpl extends CommCmd<EventPush, Long> implements EventP
     new BizTemplate<Void>() {
       @Override
       protected Void process() {
-        // Sign DingTalk address if applicable
-        String address = signDingTalkAddress(eventPush);
-
-        // Send event via appropriate channel type
-        ChannelSendResponse result = pushServiceMap.get(eventPush.getChannelType())
-            .push(eventPush);
-
-        // Update push status and tracking information
-        eventPush.setPush(result.isSuccess()).setPushMsg(result.getMessage());
-        eventPush.setAddress(address);
-        eventPush.setRetryTimes(eventPush.getRetryTimes() + 1);
-        eventPushRepo.save(eventPush);
-
-        // Important: Event is successful if at least one channel succeeds
-        long count = eventRepo.countByIdAndPushStatus(eventPush.getEventId(),
-            EventPushStatus.PUSH_SUCCESS);
-        if (result.isSuccess() && count > 0) {
-          return null;
-        }
-
-        // Update event main status based on push result
-        eventRepo.updatePushStatusWhenNotSuccess(eventPush.getEventId(), result.isSuccess()
-                ? EventPushStatus.PUSH_SUCCESS.getValue() : PUSH_FAIL.getValue(),
-            result.getMessage());
+        pushByJob(eventPush);
+        updatePushResults(List.of(eventPush));
         return null;
       }
     }.execute();
   }
 
+  /**
+   * Pushes event notification via job processing without persisting the result.
+   *
+   * <p>This method performs push sending including:</p>
+   * <ul>
+   *   <li>Signing channel-specific addresses (e.g., DingTalk)</li>
+   *   <li>Sending push via appropriate channel service</li>
+   *   <li>Setting push status and retry count on the push</li>
+   *   <li>Scheduling the next retry with exponential backoff</li>
+   * </ul>
+   *
+   * <p>Robot pushes over the rate limit of their robot are deferred without sending.</p>
+   *
+   * @param eventPush Event push data to send
+   */
+  @Override
+  public void pushByJob(EventPush eventPush) {
+    if (deferIfRateLimited(List.of(eventPush))) {
+      return;
+    }
+
+    // Sign DingTalk address if applicable
+    String address = signDingTalkAddress(eventPush);
+
+    // Send event via appropriate channel type
+    ChannelSendResponse result = pushServiceMap.get(eventPush.getChannelType())
+        .push(eventPush);
+
+    // Update push status and tracking information
+    eventPush.setPush(result.isSuccess())
+        .setPushMsg(lengthSafe(result.getMessage(), MAX_EVENT_RESULT_MSG_LENGTH));
+    eventPush.setAddress(address);
+    eventPush.setRetryTimes(eventPush.getRetryTimes() + 1);
+    eventPushRetryPolicy.scheduleNext(eventPush);
+  }
+
+  /**
+   * Pushes events to the same robot as one markdown digest via job processing without persisting
+   * the result.
+   *
+   * <p>The digest is sent with one call and its outcome is applied to every merged push, so a
+   * burst of alerts costs one token of the robot rate limit instead of one per event.</p>
+   *
+   * @param eventPushes Event pushes of the same channel type and robot address
+   */
+  @Override
+  public void pushDigestByJob(List<EventPush> eventPushes) {
+    if (eventPushes.size() == 1) {
+      pushByJob(eventPushes.get(0));
+      return;
+    }
+    if (deferIfRateLimited(eventPushes)) {
+      return;
+    }
+
+    EventPush first = eventPushes.get(0);
+    StringBuilder content = new StringBuilder();
+    for (EventPush eventPush : eventPushes) {
+      content.append("#### ").append(eventPush.getName()).append("\n\n")
+          .append(eventPush.getContent()).append("\n\n");
+    }
+    EventPush digest = new EventPush().setType(first.getType())
+        .setChannelType(first.getChannelType()).setAddress(first.getAddress())
+        .setSecret(first.getSecret()).setContent(content.toString())
+        .setName(first.getName() + " (+" + (eventPushes.size() - 1) + ")");
+    signDingTalkAddress(digest);
+
+    ChannelSendResponse result = pushServiceMap.get(digest.getChannelType()).push(digest);
+    for (EventPush eventPush : eventPushes) {
+      eventPush.setPush(result.isSuccess())
+          .setPushMsg(lengthSafe(result.getMessage(), MAX_EVENT_RESULT_MSG_LENGTH));
+      eventPush.setRetryTimes(eventPush.getRetryTimes() + 1);
+      eventPushRetryPolicy.scheduleNext(eventPush);
+    }
+  }
+
+  /**
+   * Defers robot pushes until their robot has a token again, a deferral is not a retry.
+   */
+  private boolean deferIfRateLimited(List<EventPush> eventPushes) {
+    EventPush first = eventPushes.get(0);
+    if (!RobotRateLimiter.isRobotChannel(first.getChannelType())) {
+      return false;
+    }
+    long waitMillis = robotRateLimiter.tryAcquire(first.getAddress());
+    if (waitMillis <= 0) {
+      return false;
+    }
+    LocalDateTime nextRetryAt = LocalDateTime.now().plus(waitMillis, ChronoUnit.MILLIS);
+    for (EventPush eventPush : eventPushes) {
+      eventPush.setPush(false).setPushMsg("Robot rate limit exceeded, push deferred")
+          .setNextRetryAt(nextRetryAt);
+    }
+    return true;
+  }
+
+  /**
+   * Persists push results in batch and rolls up the main status of their events.
+   *
+   * <p>Pushes are updated in one batch, then the events are updated with one set-based
+   * statement. Important: Event is successful if at least one channel succeeds.</p>
+   *
+   * @param eventPushes Pushed event push records
+   */
+  @Transactional(rollbackFor = Exception.class)
+  @Override
+  public void updatePushResults(List<EventPush> eventPushes) {
+    if (isEmpty(eventPushes)) {
+      return;
+    }
+    batchUpdate0(eventPushes);
+    eventRepo.updatePushStatusByPushResults(eventPushes.stream()
+        .map(EventPush::getEventId).collect(Collectors.toSet()));
+  }
+
   /**
    * Adds multiple event push records in batch.
    *
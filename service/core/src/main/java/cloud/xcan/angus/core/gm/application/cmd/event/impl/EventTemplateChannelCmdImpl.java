@@ -16,7 +16,6 @@ import cloud.xcan.angus.core.gm.domain.event.template.channel.EventTemplateChann
 import cloud.xcan.angus.core.gm.infra.config.EventChannelCache;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import jakarta.annotation.Resource;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -93,11 +92,10 @@ public class EventTemplateChannelCmdImpl extends CommCmd<EventTemplateChannel, L
               .map(cid -> toEventTemplateChannel(uidGenerator.getUID(), id, cid, channelMap))
               .collect(Collectors.toList());
           eventTemplateChannelRepo.batchInsert(eventTemplateChannels);
-
-          // Cache event channel configurations for performance
-          eventChannelCache.cacheEventTemplate(getEventChannelCacheKey(getTenantId(), id),
-              new ArrayList<>(channelMap.values()));
         }
+
+        // Evict cached event channel configurations on all instances
+        eventChannelCache.clearEventTemplates(getEventChannelCacheKey(getTenantId(), id));
         return null;
       }
     }.execute();
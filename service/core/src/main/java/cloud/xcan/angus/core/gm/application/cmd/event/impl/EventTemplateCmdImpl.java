@@ -20,6 +20,7 @@ import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.template.EventTemplateRepo;
 import cloud.xcan.angus.core.gm.domain.event.template.channel.EventTemplateChannelRepo;
 import cloud.xcan.angus.core.gm.domain.event.template.receiver.EventTemplateReceiverRepo;
+import cloud.xcan.angus.core.gm.infra.config.EventChannelCache;
 import cloud.xcan.angus.core.gm.infra.config.EventTemplateCache;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import cloud.xcan.angus.spec.experimental.IdKey;
@@ -60,6 +61,8 @@ public class EventTemplateCmdImpl extends CommCmd<EventTemplate, Long> implement
   @Resource
   private EventTemplateCache eventTemplateCache;
   @Resource
+  private EventChannelCache eventChannelCache;
+  @Resource
   private OperationLogCmd operationLogCmd;
 
   /**
@@ -98,6 +101,8 @@ public class EventTemplateCmdImpl extends CommCmd<EventTemplate, Long> implement
       protected IdKey<Long, Object> process() {
         // Create template and record audit log
         IdKey<Long, Object> idKey = insert(template);
+        // Clear the cached not found of the event code
+        eventTemplateCache.clearEventTemplates(template.getEventCode());
         operationLogCmd.add(EVENT_TEMPLATE, template, CREATED);
         return idKey;
       }
@@ -146,8 +151,9 @@ public class EventTemplateCmdImpl extends CommCmd<EventTemplate, Long> implement
 
         // Manage template-channel associations
         deleteTemplateChannel(template, templateDb);
-        // Update template cache
-        eventTemplateCache.cacheEventTemplate(template);
+        // Evict template cache on all instances
+        eventTemplateCache.clearEventTemplates(templateDb.getEventCode());
+        eventTemplateCache.clearEventTemplates(template.getEventCode());
         eventTemplateRepo.save(template);
         // Record operation audit log
         operationLogCmd.add(EVENT_TEMPLATE, template, UPDATED);
@@ -186,9 +192,10 @@ public class EventTemplateCmdImpl extends CommCmd<EventTemplate, Long> implement
         eventTemplateRepo.deleteById(id);
         eventTemplateChannelRepo.deleteAllByTemplateId(id);
         eventTemplateReceiverRepo.deleteAllByTemplateId(id);
+        eventChannelCache.clearEventTemplates(id);
 
         // Note: Event push will automatically fail after template deletion
-        // eventTemplateCache.clearEventTemplates(template);
+        eventTemplateCache.clearEventTemplates(templateDb.getEventCode());
 
         // Record operation audit log
         operationLogCmd.add(EVENT_TEMPLATE, templateDb, DELETED);
@@ -225,6 +232,7 @@ public class EventTemplateCmdImpl extends CommCmd<EventTemplate, Long> implement
       eventTemplateChannelRepo.deleteAllByTemplateIdAndChannelTypeIn(template.getId(),
           removedChannelTypes.stream().map(ReceiveChannelType::getValue)
               .collect(Collectors.toList()));
+      eventChannelCache.clearEventTemplates(template.getId());
     }
   }
 
@@ -4,7 +4,6 @@ import cloud.xcan.angus.core.gm.application.cmd.event.EventChannelPushCmdAbstrac
 import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
 import cloud.xcan.angus.core.gm.infra.remote.push.ChannelSendResponse;
-import java.net.URI;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -44,7 +43,7 @@ public class WebhookChannelPushCmdImpl extends EventChannelPushCmdAbstract {
   public ChannelSendResponse push(EventPush eventPush) {
     try {
       // Send event data to webhook endpoint
-      thirdPushClient.webhook(URI.create(eventPush.getAddress()), eventPush);
+      pushHttpTransport.post(eventPush.getAddress(), eventPush);
       return new ChannelSendResponse();
     } catch (Exception e) {
       // Return failure response with error message
@@ -5,7 +5,6 @@ import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
 import cloud.xcan.angus.core.gm.infra.remote.push.ChannelSendResponse;
 import cloud.xcan.angus.core.gm.infra.remote.push.WeChatRobotRequest;
-import java.net.URI;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -50,7 +49,7 @@ public class WechatChannelPushCmdImpl extends EventChannelPushCmdAbstract {
       weChatRobotRequest.setMarkdown(new WeChatRobotRequest.MarkDown(eventPush.getContent()));
 
       // Send request to WeChat robot webhook
-      Map<?, ?> result = thirdPushClient.wechat(URI.create(eventPush.getAddress()),
+      Map<?, ?> result = pushHttpTransport.postForMap(eventPush.getAddress(),
           weChatRobotRequest);
 
       // Parse response and return appropriate status
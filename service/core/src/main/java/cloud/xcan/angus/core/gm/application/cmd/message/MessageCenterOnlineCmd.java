@@ -1,14 +1,16 @@
 package cloud.xcan.angus.core.gm.application.cmd.message;
 
 import cloud.xcan.angus.api.enums.ReceiveObjectType;
+import cloud.xcan.angus.core.gm.domain.message.center.SessionPresence;
+import java.util.Collection;
 import java.util.List;
 
 public interface MessageCenterOnlineCmd {
 
   void offline(ReceiveObjectType receiveObjectType, List<Long> receiveObjectIds);
 
-  void updateOnlineStatus(String sessionId, String username, String userAgent, String deviceId,
-      String remoteAddress, boolean online);
+  void updatePresence(Collection<SessionPresence> onlineSessions,
+      Collection<SessionPresence> offlineSessions, Collection<String> offlineUsernames);
 
   void shutdown();
 
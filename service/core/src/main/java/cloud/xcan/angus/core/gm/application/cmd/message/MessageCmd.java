@@ -13,7 +13,13 @@ public interface MessageCmd {
 
   void plusReadNum(Set<Long> messageIds);
 
+  /**
+   * Sends the next chunk of recipients of the in-site message in one transaction, the message
+   * remains pending until all recipients are sent. A failed chunk is rolled back and thrown.
+   */
   void sentInSiteMessage(Message message);
 
+  void sentFailure(Long messageId, String failureReason);
+
   void sentEmailMessage(Message message);
 }
@@ -8,4 +8,6 @@ public interface MessageCurrentCmd {
   void delete(Set<Long> ids);
 
   void read(Set<Long> ids);
+
+  void syncBroadcastMessages(Long userId);
 }
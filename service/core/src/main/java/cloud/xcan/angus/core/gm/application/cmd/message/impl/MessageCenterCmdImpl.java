@@ -1,6 +1,7 @@
 package cloud.xcan.angus.core.gm.application.cmd.message.impl;
 
 import static cloud.xcan.angus.core.gm.application.converter.MessageCenterConverter.pushToNoticeDomain;
+import static cloud.xcan.angus.core.gm.infra.message.MessageConnectionListener.getLocalOnlineUsernames;
 import static cloud.xcan.angus.remote.message.ProtocolException.M.QUERY_FIELD_EMPTY_T;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.isEmpty;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.isNotEmpty;
@@ -16,12 +17,12 @@ import cloud.xcan.angus.api.pojo.Message;
 import cloud.xcan.angus.core.biz.BizTemplate;
 import cloud.xcan.angus.core.gm.application.cmd.message.MessageCenterCmd;
 import cloud.xcan.angus.core.gm.application.cmd.message.MessageCenterOnlineCmd;
+import cloud.xcan.angus.core.gm.infra.message.MessageCenterBroadcaster;
 import cloud.xcan.angus.core.gm.infra.message.MessageNoticeService;
 import cloud.xcan.angus.core.gm.interfaces.message.facade.dto.MessageCenterOfflineDto;
-import cloud.xcan.angus.core.spring.boot.ApplicationInfo;
-import cloud.xcan.angus.remote.client.HttpBroadcastInvoker;
 import cloud.xcan.angus.remote.message.ProtocolException;
 import jakarta.annotation.Resource;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -59,9 +60,7 @@ public class MessageCenterCmdImpl implements MessageCenterCmd {
   @Resource
   private MessageNoticeService messageNoticeService;
   @Resource
-  private HttpBroadcastInvoker feignBroadcastInvoker;
-  @Resource
-  private ApplicationInfo applicationInfo;
+  private MessageCenterBroadcaster messageCenterBroadcaster;
 
   /**
    * Pushes message notifications to recipients.
@@ -91,13 +90,12 @@ public class MessageCenterCmdImpl implements MessageCenterCmd {
       @Override
       protected Void process() {
         if (dto.isBroadcast()) {
-          // Broadcast message to all instances
-          dto.setBroadcast(false);
-          String offlineEndpoint = "/api/v1/message/center/push";
-          try {
-            feignBroadcastInvoker.broadcast(applicationInfo.getArtifactId(), offlineEndpoint, dto);
-          } catch (Throwable e) {
-            log.error("Broadcast notice messages to all instances exception: ", e);
+          // Resolve recipients once and broadcast message to all instances
+          Message message = pushToNoticeDomain(dto);
+          Collection<String> onlineUsernames = findOnlineUsernames(
+              message.getReceiveObjectType(), message.getReceiveObjectIds());
+          if (onlineUsernames == null || isNotEmpty(onlineUsernames)) {
+            messageCenterBroadcaster.push(onlineUsernames, message);
           }
         } else {
           // Send local WebSocket message
@@ -137,13 +135,7 @@ public class MessageCenterCmdImpl implements MessageCenterCmd {
       protected Void process() {
         if (dto.isBroadcast()) {
           // Broadcast offline message to all instances
-          dto.setBroadcast(false);
-          String offlineEndpoint = "/api/v1/message/center/online/off";
-          try {
-            feignBroadcastInvoker.broadcast(applicationInfo.getArtifactId(), offlineEndpoint, dto);
-          } catch (Throwable e) {
-            log.error("Broadcast offline messages to all instances exception: ", e);
-          }
+          messageCenterBroadcaster.offline(dto.getReceiveObjectType(), dto.getReceiveObjectIds());
         } else {
           // Process local offline notification
           messageCenterOnlineCmd.offline(dto.getReceiveObjectType(), dto.getReceiveObjectIds());
@@ -154,9 +146,24 @@ public class MessageCenterCmdImpl implements MessageCenterCmd {
   }
 
   /**
-   * Sends local WebSocket messages based on receive object type.
+   * Sends local WebSocket messages to the recipients connected to this instance.
    *
-   * <p>This method routes messages to appropriate recipients including:</p>
+   * @param message Message to send
+   */
+  public void sendLocalWebSocketMessage(Message message) {
+    Collection<String> onlineUsernames = findOnlineUsernames(message.getReceiveObjectType(),
+        message.getReceiveObjectIds());
+    if (onlineUsernames == null) {
+      // Send to all users connected to this instance
+      onlineUsernames = getLocalOnlineUsernames();
+    }
+    messageNoticeService.sendUserMessage(onlineUsernames, message);
+  }
+
+  /**
+   * Finds the online usernames of message recipients based on receive object type.
+   *
+   * <p>This method resolves recipients including:</p>
    * <ul>
    *   <li>All users in the system</li>
    *   <li>Users within specific tenants</li>
@@ -166,55 +173,38 @@ public class MessageCenterCmdImpl implements MessageCenterCmd {
    *   <li>Users with specific policy roles</li>
    * </ul>
    *
-   * @param message Message to send
+   * @param receiveObject    Receive object type
+   * @param receiveObjectIds Receive object identifiers
+   * @return Online usernames, null when the message is sent to all online users
    */
-  public void sendLocalWebSocketMessage(Message message) {
-    ReceiveObjectType receiveObject = message.getReceiveObjectType();
-
+  private Collection<String> findOnlineUsernames(ReceiveObjectType receiveObject,
+      List<Long> receiveObjectIds) {
     switch (receiveObject) {
-      case ALL: {
-        // Send to all online users
-        List<String> onlineUsernames = userRepo.findUsernamesByOnline(true);
-        messageNoticeService.sendUserMessage(onlineUsernames, message);
-      }
-      case TENANT: {
+      case ALL:
+        // Send to all online users, resolved by each instance from its sessions
+        return null;
+      case TENANT:
         // Send to online users within specific tenants
-        List<Long> tenantIds = message.getReceiveObjectIds();
-        List<String> onlineUsernames = userRepo.findUsernamesByTenantIdAndOnline(tenantIds, true);
-        messageNoticeService.sendUserMessage(onlineUsernames, message);
-      }
-      case DEPT: {
+        return userRepo.findUsernamesByTenantIdAndOnline(receiveObjectIds, true);
+      case DEPT:
         // Send to online users within specific departments
-        List<Long> deptIds = message.getReceiveObjectIds();
-        Set<String> onlineUsernames = deptUserRepo.findUsernamesByDeptIdInAndOnline(deptIds, true);
-        messageNoticeService.sendUserMessage(onlineUsernames, message);
-      }
-      case GROUP: {
+        return deptUserRepo.findUsernamesByDeptIdInAndOnline(receiveObjectIds, true);
+      case GROUP:
         // Send to online users within specific groups
-        List<Long> groupIds = message.getReceiveObjectIds();
-        Set<String> onlineUsernames = groupUserRepo.findUsernamesByGroupIdInAndOnline(groupIds,
-            true);
-        messageNoticeService.sendUserMessage(onlineUsernames, message);
-      }
-      case USER: {
+        return groupUserRepo.findUsernamesByGroupIdInAndOnline(receiveObjectIds, true);
+      case USER:
         // Send to specific online users
-        List<Long> userIds = message.getReceiveObjectIds();
-        List<String> onlineUsernames = userRepo.findUsernamesByIdAndOnline(userIds, true);
-        messageNoticeService.sendUserMessage(onlineUsernames, message);
-      }
+        return userRepo.findUsernamesByIdAndOnline(receiveObjectIds, true);
       case TO_POLICY: {
         // Send to users with specific policy roles
-        List<Long> topRoleIds = message.getReceiveObjectIds();
-        Set<Long> roleUserIds = toRoleUserRepo.findAllByToRoleIdIn(topRoleIds)
+        Set<Long> roleUserIds = toRoleUserRepo.findAllByToRoleIdIn(receiveObjectIds)
             .stream().map(TORoleUser::getUserId).collect(Collectors.toSet());
-        if (isNotEmpty(roleUserIds)) {
-          List<String> onlineUsernames = userRepo.findUsernamesByIdAndOnline(roleUserIds, true);
-          messageNoticeService.sendUserMessage(onlineUsernames, message);
-        }
+        return isNotEmpty(roleUserIds)
+            ? userRepo.findUsernamesByIdAndOnline(roleUserIds, true) : List.of();
       }
-      default: {
+      default:
         // No action for unsupported object types
-      }
+        return List.of();
     }
   }
 
@@ -1,10 +1,10 @@
 package cloud.xcan.angus.core.gm.application.cmd.message.impl;
 
 import static cloud.xcan.angus.core.gm.application.converter.MessageCenterConverter.assembleMessageCenterOnline;
-import static cloud.xcan.angus.core.gm.infra.message.MessageConnectionListener.LOCAL_ONLINE_USERS;
+import static cloud.xcan.angus.core.gm.infra.message.MessageConnectionListener.getLocalOnlineUsernames;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.isEmpty;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.isNotEmpty;
-import static cloud.xcan.angus.spec.utils.ObjectUtils.isNull;
+import static java.util.Objects.nonNull;
 
 import cloud.xcan.angus.api.commonlink.user.User;
 import cloud.xcan.angus.api.commonlink.user.UserRepo;
@@ -13,11 +13,14 @@ import cloud.xcan.angus.core.biz.cmd.CommCmd;
 import cloud.xcan.angus.core.gm.application.cmd.message.MessageCenterOnlineCmd;
 import cloud.xcan.angus.core.gm.domain.message.center.MessageCenterOnline;
 import cloud.xcan.angus.core.gm.domain.message.center.MessageCenterOnlineRepo;
+import cloud.xcan.angus.core.gm.domain.message.center.SessionPresence;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import cloud.xcan.angus.security.authentication.service.JdbcOAuth2AuthorizationService;
 import jakarta.annotation.Resource;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
@@ -89,38 +92,56 @@ public class MessageCenterOnlineCmdImpl extends CommCmd<MessageCenterOnline, Lon
   }
 
   /**
-   * Updates user online status based on session information.
+   * Updates online status of sessions and users in batch.
    *
-   * <p>This method manages session-based status including:</p>
+   * <p>This method applies coalesced presence changes including:</p>
    * <ul>
    *   <li>Creating online records for new sessions</li>
    *   <li>Updating offline records for ended sessions</li>
-   *   <li>Managing user online status</li>
-   *   <li>Tracking session metadata</li>
+   *   <li>Marking users of new sessions online</li>
+   *   <li>Marking users without remaining sessions offline</li>
    * </ul>
    *
-   * @param sessionId     Session identifier
-   * @param username      User username
-   * @param userAgent     User agent string
-   * @param deviceId      Device identifier
-   * @param remoteAddress Remote IP address
-   * @param online        Whether user is coming online
+   * @param onlineSessions   Sessions connected since the last update
+   * @param offlineSessions  Sessions disconnected since the last update
+   * @param offlineUsernames Users without remaining sessions
    */
   @Transactional(rollbackFor = Exception.class)
   @Override
-  public void updateOnlineStatus(String sessionId, String username, String userAgent,
-      String deviceId, String remoteAddress, boolean online) {
-    User user = userRepo.findAllByUsername(username).get(0);
-    if (isNull(user)) {
-      return;
+  public void updatePresence(Collection<SessionPresence> onlineSessions,
+      Collection<SessionPresence> offlineSessions, Collection<String> offlineUsernames) {
+    if (isNotEmpty(onlineSessions)) {
+      Map<String, User> users = userRepo.findAllByUsernameIn(onlineSessions.stream()
+              .map(SessionPresence::getUsername).collect(Collectors.toSet())).stream()
+          .collect(Collectors.toMap(User::getUsername, x -> x, (x, y) -> x));
+      List<MessageCenterOnline> onlines = new ArrayList<>(onlineSessions.size());
+      for (SessionPresence session : onlineSessions) {
+        User user = users.get(session.getUsername());
+        if (nonNull(user)) {
+          onlines.add(assembleMessageCenterOnline(session.getSessionId(), user,
+              session.getUserAgent(), session.getDeviceId(), session.getRemoteAddress()));
+        }
+      }
+      if (isNotEmpty(onlines)) {
+        // Save online session records with one multi-row insert
+        batchInsert0(onlines);
+        // Update user online status
+        userRepo.updateOnlineStatus(onlines.stream().map(MessageCenterOnline::getUserId)
+            .collect(Collectors.toSet()));
+      }
     }
 
-    if (online) {
-      // Create online session record
-      onlineBySession(sessionId, userAgent, deviceId, remoteAddress, user);
-    } else {
-      // Update offline session record
-      offlineBySession(sessionId, user.getId());
+    if (isNotEmpty(offlineSessions)) {
+      // Update offline session records
+      messageCenterOnlineRepo.updateOfflineBySessionIdIn(offlineSessions.stream()
+          .map(SessionPresence::getSessionId).collect(Collectors.toList()));
+    }
+    if (isNotEmpty(offlineUsernames)) {
+      // Update user offline status
+      List<Long> userIds = userRepo.findIdsByUsernameIn(offlineUsernames);
+      if (isNotEmpty(userIds)) {
+        userRepo.updateOfflineStatus(userIds);
+      }
     }
   }
 
@@ -138,7 +159,7 @@ public class MessageCenterOnlineCmdImpl extends CommCmd<MessageCenterOnline, Lon
   @Override
   public void shutdown() {
     // Get all online usernames from local cache
-    Collection<String> usernames = LOCAL_ONLINE_USERS.values();
+    Collection<String> usernames = getLocalOnlineUsernames();
     if (isNotEmpty(usernames)) {
       // Find user IDs and update offline status
       List<Long> userIds = userRepo.findIdsByUsernameIn(usernames);
@@ -160,37 +181,6 @@ public class MessageCenterOnlineCmdImpl extends CommCmd<MessageCenterOnline, Lon
     }
   }
 
-  /**
-   * Creates online session record and updates user status.
-   *
-   * @param sessionId     Session identifier
-   * @param userAgent     User agent string
-   * @param deviceId      Device identifier
-   * @param remoteAddress Remote IP address
-   * @param user          User entity
-   */
-  private void onlineBySession(String sessionId, String userAgent, String deviceId,
-      String remoteAddress,
-      User user) {
-    // Save online session record
-    insert0(assembleMessageCenterOnline(sessionId, user, userAgent, deviceId, remoteAddress));
-    // Update user online status
-    userRepo.updateOnlineStatus(List.of(user.getId()));
-  }
-
-  /**
-   * Updates offline session record and user status.
-   *
-   * @param sessionId Session identifier
-   * @param userId    User identifier
-   */
-  private void offlineBySession(String sessionId, Long userId) {
-    // Update offline session record
-    messageCenterOnlineRepo.updateOfflineBySessionIdAndUserId(sessionId, userId);
-    // Update user offline status
-    userRepo.updateOfflineStatus(List.of(userId));
-  }
-
   /**
    * Forces users offline by user IDs.
    *
@@ -11,6 +11,7 @@ import static cloud.xcan.angus.core.utils.PrincipalContextUtils.setOptTenantId;
 import static cloud.xcan.angus.spec.principal.PrincipalContext.getTenantId;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.isNotEmpty;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.lengthSafe;
+import static cloud.xcan.angus.spec.utils.ObjectUtils.nullSafe;
 import static java.util.Objects.nonNull;
 
 import cloud.xcan.angus.api.enums.ReceiveObjectType;
@@ -26,12 +27,13 @@ import cloud.xcan.angus.core.gm.domain.message.MessageRepo;
 import cloud.xcan.angus.core.gm.domain.message.MessageSent;
 import cloud.xcan.angus.core.gm.domain.message.MessageStatus;
 import cloud.xcan.angus.core.gm.domain.message.ReceiveObject;
+import cloud.xcan.angus.core.gm.infra.job.MessageTimingScheduler;
+import cloud.xcan.angus.core.gm.infra.message.MessageInboxCounter;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import cloud.xcan.angus.remote.message.AbstractResultMessageException;
 import cloud.xcan.angus.spec.experimental.IdKey;
 import jakarta.annotation.Resource;
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -57,6 +59,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class MessageCmdImpl extends CommCmd<Message, Long> implements MessageCmd {
 
+  private static final int SENT_USER_CHUNK_SIZE = 2000;
+
   @Resource
   private MessageRepo messageRepo;
   @Resource
@@ -67,6 +71,10 @@ public class MessageCmdImpl extends CommCmd<Message, Long> implements MessageCmd
   private MessageCenterCmd messageCenterCmd;
   @Resource
   private EmailCmd emailCmd;
+  @Resource
+  private MessageInboxCounter messageInboxCounter;
+  @Resource
+  private MessageTimingScheduler messageTimingScheduler;
 
   /**
    * Creates a new message with comprehensive validation.
@@ -112,7 +120,10 @@ public class MessageCmdImpl extends CommCmd<Message, Long> implements MessageCmd
         if (isOpClient() && message.getReceiveObjectType().equals(ReceiveObjectType.ALL)) {
           message.setReceiveTenantId(null).setReceiveObjectData(null);
         }
-        return insert(message);
+        IdKey<Long, Object> idKey = insert(message);
+        // Sent as soon as the timing date is due
+        messageTimingScheduler.schedule(message);
+        return idKey;
       }
     }.execute();
   }
@@ -137,16 +148,19 @@ public class MessageCmdImpl extends CommCmd<Message, Long> implements MessageCmd
   }
 
   /**
-   * Sends in-site messages via WebSocket with comprehensive tracking.
+   * Sends the next chunk of an in-site message with progress tracking.
    *
    * <p>This method performs in-site message delivery including:</p>
    * <ul>
-   *   <li>Sending messages via WebSocket</li>
-   *   <li>Creating user message records</li>
-   *   <li>Updating message status and statistics</li>
-   *   <li>Handling delivery failures</li>
+   *   <li>Creating user message records of the next recipients after the sent user cursor</li>
+   *   <li>Checkpointing the sent user cursor and sent number with the records</li>
+   *   <li>Sending the message via WebSocket and updating the status when completed</li>
    * </ul>
    *
+   * <p>Each chunk is committed in its own transaction, so large audiences do not turn into one
+   * huge transaction. A failing chunk is rolled back and thrown, the message stays pending and
+   * resumes after the last committed chunk.</p>
+   *
    * @param message Message to send
    */
   @Transactional(rollbackFor = Exception.class)
@@ -156,44 +170,57 @@ public class MessageCmdImpl extends CommCmd<Message, Long> implements MessageCmd
 
       @Override
       protected Void process() {
-        String failureReason = null;
-        try {
-          // Send message via WebSocket
-          messageCenterCmd.push(messageToPushDto(message));
-
-          // Create user message records
-          Set<Long> allReceiveUserIds = getSentUserIds(message);
-          if (isNotEmpty(allReceiveUserIds)) {
-            List<MessageSent> messages = allReceiveUserIds.stream().map(
+        boolean completed;
+        if (message.isBroadcast()) {
+          // Stored once, merged into user inboxes when they are read
+          message.setSentNum((int) countBroadcastUsers(message));
+          messageInboxCounter.broadcastSent(System.currentTimeMillis());
+          completed = true;
+        } else {
+          // Create user message records of the next chunk
+          long cursor = nullSafe(message.getSentUserCursor(), -1L);
+          List<Long> receiveUserIds = getSentUserIdsAfter(message, cursor,
+              SENT_USER_CHUNK_SIZE);
+          if (!receiveUserIds.isEmpty()) {
+            List<MessageSent> messages = receiveUserIds.stream().map(
                     userId -> toMessageSent(message, userId, uidGenerator.getUID()))
                 .collect(Collectors.toList());
             messageCurrentRepo.batchInsert0(messages);
+            messageInboxCounter.sent(receiveUserIds, 1);
+            message.setSentUserCursor(receiveUserIds.get(receiveUserIds.size() - 1))
+                .setSentNum(nullSafe(message.getSentNum(), 0) + receiveUserIds.size());
           }
-
-          // Update message status and statistics
-          message.setStatus(MessageStatus.SENT).setSendDate(LocalDateTime.now())
-              .setSentNum(allReceiveUserIds.size());
-          messageRepo.save(message);
-        } catch (Exception e) {
-          log.error(e.getMessage(), e);
-          if (e instanceof AbstractResultMessageException) {
-            failureReason = e.getMessage();
-          } else {
-            failureReason = e.getMessage();
-          }
+          completed = receiveUserIds.size() < SENT_USER_CHUNK_SIZE;
         }
 
-        // Handle delivery failure
-        if (nonNull(failureReason)) {
-          message.setStatus(MessageStatus.FAILURE)
-              .setFailureReason(lengthSafe(failureReason, 200));
-          messageRepo.save(message);
+        if (completed) {
+          message.setStatus(MessageStatus.SENT).setSendDate(LocalDateTime.now());
+        }
+        messageRepo.save(message);
+        if (completed) {
+          // Send message via WebSocket when all user message records are created
+          messageCenterCmd.push(messageToPushDto(message));
         }
         return null;
       }
     }.execute();
   }
 
+  /**
+   * Marks a message as failed, e.g. when its recipients are invalid or its sending keeps
+   * failing. Records of the chunks committed before are kept.
+   *
+   * @param messageId     Message identifier
+   * @param failureReason Reason of the failure
+   */
+  @Transactional(rollbackFor = Exception.class)
+  @Override
+  public void sentFailure(Long messageId, String failureReason) {
+    messageRepo.findById(messageId).ifPresent(message -> messageRepo.save(
+        message.setStatus(MessageStatus.FAILURE)
+            .setFailureReason(lengthSafe(failureReason, 200))));
+  }
+
   /**
    * Sends email messages with comprehensive tracking.
    *
@@ -218,9 +245,10 @@ public class MessageCmdImpl extends CommCmd<Message, Long> implements MessageCmd
           emailCmd.send(toSendEmailMessage(message), false);
 
           // Update message status and statistics
-          Set<Long> allReceiveUserIds = getSentUserIds(message);
+          long sentNum = message.isBroadcast() ? countBroadcastUsers(message)
+              : countSentUsers(message);
           message.setStatus(MessageStatus.SENT).setSendDate(LocalDateTime.now())
-              .setSentNum(allReceiveUserIds.size());
+              .setSentNum((int) sentNum);
           messageRepo.save(message);
         } catch (Exception e) {
           log.error(e.getMessage(), e);
@@ -253,53 +281,76 @@ public class MessageCmdImpl extends CommCmd<Message, Long> implements MessageCmd
   }
 
   /**
-   * Retrieves user IDs for message recipients based on receive object type.
+   * Gets the next chunk of message recipients after the given user ID based on receive object
+   * type, in ascending ID order.
    *
-   * <p>This method determines recipients including:</p>
-   * <ul>
-   *   <li>All users in system or specific tenant</li>
-   *   <li>Users within specific groups</li>
-   *   <li>Users within specific departments</li>
-   *   <li>Specific users by ID</li>
-   * </ul>
+   * <p>Group and department members are read with keyset queries, so each chunk only reads
+   * its own rows instead of resolving the whole audience again.</p>
+   *
+   * <p>Recipients of broadcast messages to all users of the platform or a tenant are counted
+   * with {@link #countBroadcastUsers(Message)} instead.</p>
    *
    * @param message Message containing recipient information
-   * @return Set of user identifiers for message recipients
+   * @param afterId Last recipient of the previous chunk, exclusive
+   * @param size    Maximum number of recipients
+   * @return Recipient user identifiers of the chunk
    */
-  private Set<Long> getSentUserIds(Message message) {
-    Set<Long> allReceiveUserIds = new HashSet<>();
+  private List<Long> getSentUserIdsAfter(Message message, long afterId, int size) {
     switch (message.getReceiveObjectType()) {
-      case ALL:
-        // Get all valid users or users in specific tenant
-        allReceiveUserIds = message.isSentAllUsers() ? userManager.getAllValidUserIds()
-            : userManager.getAllValidUserIdsByTenantId(message.getReceiveTenantId());
-        break;
       case USER:
-        // Get specific users by ID
-        allReceiveUserIds = message.getReceiveObjectData().stream()
-            .map(ReceiveObject::getId).collect(Collectors.toSet());
-        break;
+        // Specific users are bounded by the message itself
+        return getReceiveObjectIds(message).stream()
+            .filter(userId -> userId > afterId).sorted().limit(size)
+            .collect(Collectors.toList());
       case GROUP:
         // Get users within specific groups
-        allReceiveUserIds = userManager.getValidUserIdsByGroupIds(message.getReceiveTenantId(),
-            message.getReceiveObjectData().stream()
-                .map(ReceiveObject::getId).collect(Collectors.toSet()));
-        break;
+        return userManager.getValidUserIdsByGroupIdsAfter(message.getReceiveTenantId(),
+            getReceiveObjectIds(message), afterId, size);
       case DEPT:
         // Get users within specific departments
-        allReceiveUserIds = userManager.getValidUserIdsByDeptIds(message.getReceiveTenantId(),
-            message.getReceiveObjectData().stream()
-                .map(ReceiveObject::getId).collect(Collectors.toSet()));
-        break;
-      case TENANT:
-        // Get all users in specific tenant
-        allReceiveUserIds = userManager
-            .getAllValidUserIdsByTenantId(message.getReceiveTenantId());
-        break;
+        return userManager.getValidUserIdsByDeptIdsAfter(message.getReceiveTenantId(),
+            getReceiveObjectIds(message), afterId, size);
       default:
         // No action for unsupported object types
+        return List.of();
+    }
+  }
+
+  /**
+   * Counts the recipients of a message to users, groups or departments.
+   *
+   * @param message Message containing recipient information
+   * @return Number of recipients
+   */
+  private long countSentUsers(Message message) {
+    switch (message.getReceiveObjectType()) {
+      case USER:
+        return getReceiveObjectIds(message).size();
+      case GROUP:
+        return userManager.countValidUsersByGroupIds(message.getReceiveTenantId(),
+            getReceiveObjectIds(message));
+      case DEPT:
+        return userManager.countValidUsersByDeptIds(message.getReceiveTenantId(),
+            getReceiveObjectIds(message));
+      default:
+        return 0;
     }
-    return allReceiveUserIds;
+  }
+
+  private Set<Long> getReceiveObjectIds(Message message) {
+    return message.getReceiveObjectData().stream()
+        .map(ReceiveObject::getId).collect(Collectors.toSet());
+  }
+
+  /**
+   * Counts the recipients of a message to all users of the platform or a tenant.
+   *
+   * @param message Broadcast message
+   * @return Number of valid users receiving the message
+   */
+  private long countBroadcastUsers(Message message) {
+    return message.isSentAllUsers() ? userManager.countAllValidUsers()
+        : userManager.countValidUsersByTenantId(message.getReceiveTenantId());
   }
 
   @Override
@@ -1,15 +1,30 @@
 package cloud.xcan.angus.core.gm.application.cmd.message.impl;
 
+import static cloud.xcan.angus.core.gm.infra.message.MessageInboxCounter.BROADCAST_SYNC_LAG_SECONDS;
+import static cloud.xcan.angus.spec.principal.PrincipalContext.getUserId;
+import static cloud.xcan.angus.spec.utils.ObjectUtils.nullSafe;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import cloud.xcan.angus.api.commonlink.user.User;
+import cloud.xcan.angus.api.manager.UserManager;
 import cloud.xcan.angus.core.biz.BizTemplate;
 import cloud.xcan.angus.core.biz.cmd.CommCmd;
 import cloud.xcan.angus.core.gm.application.cmd.message.MessageCmd;
 import cloud.xcan.angus.core.gm.application.cmd.message.MessageCurrentCmd;
+import cloud.xcan.angus.core.gm.domain.message.Message;
+import cloud.xcan.angus.core.gm.domain.message.MessageBroadcastSync;
+import cloud.xcan.angus.core.gm.domain.message.MessageBroadcastSyncRepo;
 import cloud.xcan.angus.core.gm.domain.message.MessageCurrentRepo;
+import cloud.xcan.angus.core.gm.domain.message.MessageRepo;
 import cloud.xcan.angus.core.gm.domain.message.MessageSent;
+import cloud.xcan.angus.core.gm.infra.message.MessageInboxCounter;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
 import jakarta.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,10 +47,23 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class MessageCurrentCmdImpl extends CommCmd<MessageSent, Long> implements MessageCurrentCmd {
 
+  /**
+   * Broadcast messages merged into an inbox per query.
+   */
+  private static final int BROADCAST_SYNC_BATCH_SIZE = 200;
+
   @Resource
   private MessageCurrentRepo messageCurrentRepo;
   @Resource
+  private MessageRepo messageRepo;
+  @Resource
+  private MessageBroadcastSyncRepo messageBroadcastSyncRepo;
+  @Resource
+  private UserManager userManager;
+  @Resource
   private MessageCmd messageCmd;
+  @Resource
+  private MessageInboxCounter messageInboxCounter;
 
   /**
    * Deletes user message records by marking them as deleted.
@@ -55,8 +83,19 @@ public class MessageCurrentCmdImpl extends CommCmd<MessageSent, Long> implements
 
       @Override
       protected Void process() {
+        List<MessageSent> messages = messageCurrentRepo
+            .findAllByIdInAndReceiveUserId(ids, getUserId());
+        if (messages.isEmpty()) {
+          return null;
+        }
+
         // Mark message records as deleted with timestamp
-        messageCurrentRepo.updateDeletedByIdIn(ids, LocalDateTime.now());
+        messageCurrentRepo.updateDeletedByIdIn(messages.stream().map(MessageSent::getId)
+            .collect(Collectors.toList()), LocalDateTime.now());
+
+        // Remove from inbox counters
+        long readNum = messages.stream().filter(m -> Boolean.TRUE.equals(m.getRead())).count();
+        messageInboxCounter.deleted(getUserId(), readNum, messages.size() - readNum);
         return null;
       }
     }.execute();
@@ -82,7 +121,9 @@ public class MessageCurrentCmdImpl extends CommCmd<MessageSent, Long> implements
       @Override
       protected Void process() {
         // Update message read status and timestamp
-        messageCurrentRepo.updateReadByIdIn(ids, LocalDateTime.now());
+        int readNum = messageCurrentRepo.updateUnreadByIdInAndReceiveUserId(ids, getUserId(),
+            LocalDateTime.now());
+        messageInboxCounter.read(getUserId(), readNum);
         // Increment message read count
         messageCmd.plusReadNum(ids);
         return null;
@@ -90,6 +131,67 @@ public class MessageCurrentCmdImpl extends CommCmd<MessageSent, Long> implements
     }.execute();
   }
 
+  /**
+   * Merges broadcast messages into the inbox of the user.
+   *
+   * <p>Messages to all users of the platform or a tenant are not delivered as one record per
+   * user when they are sent. When the user reads the inbox, the broadcast messages sent since the
+   * last merge are added as user message records, so read and delete states are kept as for
+   * other messages and only for users who actually read their messages.</p>
+   *
+   * @param userId User identifier of the inbox
+   */
+  @Transactional(rollbackFor = Exception.class)
+  @Override
+  public void syncBroadcastMessages(Long userId) {
+    new BizTemplate<Void>(false) {
+
+      @Override
+      protected Void process() {
+        MessageBroadcastSync sync = messageBroadcastSyncRepo.findById(userId).orElse(null);
+        if (isNull(sync)) {
+          User user = userManager.findUser(userId);
+          if (isNull(user)) {
+            return null;
+          }
+          // Broadcast messages sent before the first merge were delivered as user records,
+          // they are not merged again even if cleared
+          LocalDateTime minSentDate = messageCurrentRepo.findMinSentDateByReceiveUserId(userId);
+          sync = new MessageBroadcastSync().setUserId(userId).setTenantId(user.getTenantId())
+              .setSyncedDate(nonNull(minSentDate) ? minSentDate
+                  : nullSafe(user.getCreatedDate(), LocalDateTime.now()));
+        }
+
+        long syncMillis = System.currentTimeMillis();
+        LocalDateTime syncedDate = LocalDateTime.now().minusSeconds(BROADCAST_SYNC_LAG_SECONDS);
+        LocalDateTime after = sync.getSyncedDate();
+        long mergedNum = 0;
+        List<Message> messages;
+        do {
+          messages = messageRepo.findBroadcastNotSent(userId, sync.getTenantId(), after,
+              BROADCAST_SYNC_BATCH_SIZE);
+          if (!messages.isEmpty()) {
+            // A concurrent merge of the same user may have added some of the records
+            LocalDateTime now = LocalDateTime.now();
+            for (Message message : messages) {
+              mergedNum += messageCurrentRepo.insertIgnore(uidGenerator.getUID(),
+                  message.getId(), message.getReceiveTenantId(), userId, message.getSendDate(),
+                  now);
+            }
+            after = messages.get(messages.size() - 1).getSendDate();
+          }
+        } while (messages.size() == BROADCAST_SYNC_BATCH_SIZE);
+        messageInboxCounter.sent(List.of(userId), mergedNum);
+        messageInboxCounter.broadcastSynced(userId, syncMillis);
+
+        if (syncedDate.isAfter(sync.getSyncedDate())) {
+          messageBroadcastSyncRepo.upsertSyncedDate(userId, sync.getTenantId(), syncedDate);
+        }
+        return null;
+      }
+    }.execute();
+  }
+
   @Override
   protected BaseRepository<MessageSent, Long> getRepository() {
     return messageCurrentRepo;
@@ -12,7 +12,7 @@ public interface SmsCmd {
 
   void send(Sms sms, boolean testChannel);
 
-  void sendByJob(Sms sms, SmsChannel enabledChannel, SmsProvider smsProvider);
+  void sendByJob(List<Sms> smsList, SmsChannel enabledChannel, SmsProvider smsProvider);
 
   void checkVerificationCode(SmsBizKey bizKey, String mobile, String verificationCode);
 
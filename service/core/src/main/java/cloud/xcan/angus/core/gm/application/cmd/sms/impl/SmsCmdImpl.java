@@ -26,6 +26,7 @@ import cloud.xcan.angus.api.commonlink.user.dept.DeptUserRepo;
 import cloud.xcan.angus.api.commonlink.user.group.GroupUserRepo;
 import cloud.xcan.angus.api.enums.ProcessStatus;
 import cloud.xcan.angus.api.enums.ReceiveObjectType;
+import cloud.xcan.angus.api.manager.UserManager;
 import cloud.xcan.angus.core.biz.BizTemplate;
 import cloud.xcan.angus.core.biz.cmd.CommCmd;
 import cloud.xcan.angus.core.biz.exception.BizException;
@@ -51,8 +52,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import jakarta.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -62,8 +65,6 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.context.annotation.DependsOn;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -84,6 +85,11 @@ import org.springframework.transaction.annotation.Transactional;
 @DependsOn({"pluginManager"})
 public class SmsCmdImpl extends CommCmd<Sms, Long> implements SmsCmd {
 
+  /**
+   * Number of tenant and all users recipients sent by one split SMS.
+   */
+  private static final int RECEIVE_USER_CHUNK_SIZE = 500;
+
   @Resource
   private SmsRepo smsRepo;
   @Resource
@@ -93,6 +99,8 @@ public class SmsCmdImpl extends CommCmd<Sms, Long> implements SmsCmd {
   @Resource
   private UserRepo userRepo;
   @Resource
+  private UserManager userManager;
+  @Resource
   private GroupUserRepo groupUserRepo;
   @Resource
   private DeptUserRepo deptUserRepo;
@@ -165,6 +173,29 @@ public class SmsCmdImpl extends CommCmd<Sms, Long> implements SmsCmd {
         // Sending by mobiles has higher priority than sending by orgType
         if (sms.isSendByMobiles()) {
           send0(testChannel, sms, smsTemplate, enabledChannel, smsProvider);
+        } else if (ReceiveObjectType.ALL.equals(sms.getReceiveObjectType())
+            || ReceiveObjectType.TENANT.equals(sms.getReceiveObjectType())) {
+          // Stream all users or users of tenants in keyset chunks instead of offset pages
+          boolean[] sent = {false};
+          userManager.streamValidUserIds(
+              ReceiveObjectType.ALL.equals(sms.getReceiveObjectType()) ? null
+                  : sms.getReceiveObjectIds(), RECEIVE_USER_CHUNK_SIZE, userIds -> {
+                List<String> chunkMobiles = userRepo.findValidMobileByIdIn(userIds).stream()
+                    .filter(ObjectUtils::isNotEmpty).collect(Collectors.toList());
+                if (chunkMobiles.isEmpty()) {
+                  return;
+                }
+                if (sent[0]) {
+                  // If sending by type requires multiple times, generate a new split SMS ID
+                  sms.setId(uidGenerator.getUID());
+                }
+                sms.getInputParamData().setMobiles(new HashSet<>(chunkMobiles));
+                send0(testChannel, sms, smsTemplate, enabledChannel, smsProvider);
+                sent[0] = true;
+              });
+          if (!sent[0]) {
+            log.warn("The receiver's mobile is not found, SMS: {}", GsonUtils.toJson(sms));
+          }
         } else {
           // When both types exist, sending by orgType will be ignored
           int page = 0, size = 500;
@@ -198,22 +229,79 @@ public class SmsCmdImpl extends CommCmd<Sms, Long> implements SmsCmd {
 
   /**
    * <p>
-   * Sends SMS messages by job processing.
+   * Sends a batch of pending SMS messages by job processing.
    * </p>
    * <p>
-   * Used for scheduled SMS sending with pre-validated channel and provider. Verification code SMS
-   * and channel test SMS are sent immediately. Note: Future enhancement needed to support resending
-   * after failure.
+   * Used for scheduled SMS sending with pre-validated channel and provider. Due SMS are grouped by
+   * template and sent with {@link SmsProvider#sendBatch}, so providers supporting batch requests
+   * send a group in a few calls instead of one call per SMS. Results are left on the SMS for the
+   * job to persist in bulk, SMS not due yet are left pending. Note: Future enhancement needed to
+   * support resending after failure.
    * </p>
    */
   @DoInFuture("Support resending after failure")
   @Override
-  public void sendByJob(Sms sms, SmsChannel enabledChannel, SmsProvider smsProvider) {
+  public void sendByJob(List<Sms> smsList, SmsChannel enabledChannel, SmsProvider smsProvider) {
     new BizTemplate<Void>() {
+      @SneakyThrows
       @Override
       protected Void process() {
-        SmsTemplate smsTemplate = smsQuery.checkTemplateAndGet(sms, enabledChannel);
-        send0(false, sms, smsTemplate, enabledChannel, smsProvider);
+        Map<String, SmsTemplate> templates = new HashMap<>();
+        Map<String, List<Sms>> templateDueSms = new LinkedHashMap<>();
+        for (Sms sms : smsList) {
+          SmsTemplate smsTemplate;
+          try {
+            smsTemplate = templates.computeIfAbsent(
+                sms.getInputParamData().getBizKey() + ":" + sms.getLanguage(),
+                key -> smsQuery.checkTemplateAndGet(sms, enabledChannel));
+          } catch (Exception e) {
+            sms.setSendStatus(ProcessStatus.FAILURE).setFailureReason(e.getMessage());
+            continue;
+          }
+          assembleSmsSendParam(false, sms, smsTemplate, enabledChannel);
+          sms.setTemplateCode(smsTemplate.getCode());
+          // Retry is unsupported
+          sms.setSendRetryNum(0);
+          if (sms.getVerificationCode() || sms.isSendNow()) {
+            templateDueSms.computeIfAbsent(smsTemplate.getThirdCode(), code -> new ArrayList<>())
+                .add(sms);
+          } else if (isNull(sms.getExpectedSendDate())) {
+            sms.setExpectedSendDate(LocalDateTime.now());
+          }
+        }
+
+        MessageChannel channel = getMessageChannel(enabledChannel);
+        for (List<Sms> dueSms : templateDueSms.values()) {
+          List<cloud.xcan.angus.extension.sms.api.Sms> pluginSmsList = new ArrayList<>();
+          for (Sms sms : dueSms) {
+            cloud.xcan.angus.extension.sms.api.Sms pluginSms = assembleThirdParams(sms,
+                templates.get(sms.getInputParamData().getBizKey() + ":" + sms.getLanguage()));
+            sms.setThirdInputParam(objectMapper.writeValueAsString(pluginSms));
+            pluginSmsList.add(pluginSms);
+          }
+
+          List<SimpleResult> results;
+          try {
+            results = smsProvider.sendBatch(pluginSmsList, channel);
+          } catch (Exception e) {
+            log.error("Sending SMS batch exception: {}", e.getMessage());
+            results = null;
+          }
+          for (int i = 0; i < dueSms.size(); i++) {
+            Sms sms = dueSms.get(i);
+            SimpleResult result = nonNull(results) && i < results.size() ? results.get(i) : null;
+            if (isNull(result)) {
+              sms.setSendStatus(ProcessStatus.FAILURE)
+                  .setFailureReason("Missing result of SMS provider");
+              continue;
+            }
+            setSendSmsResultStatus(result, sms);
+            // Cache verification code when it is sent successfully
+            if (sms.getVerificationCode() && result.isSuccess()) {
+              cacheVerificationCode(sms);
+            }
+          }
+        }
         return null;
       }
     }.execute();
@@ -355,8 +443,8 @@ public class SmsCmdImpl extends CommCmd<Sms, Long> implements SmsCmd {
    * Gets mobile numbers for different recipient object types.
    * </p>
    * <p>
-   * Supports various recipient types including tenant, user, department, group, policy, and all
-   * users.
+   * Supports various recipient types including user, department, group and policy. Tenant and all
+   * users recipients are streamed with {@link UserManager#streamValidUserIds}.
    * </p>
    * <p>
    *
@@ -372,10 +460,6 @@ public class SmsCmdImpl extends CommCmd<Sms, Long> implements SmsCmd {
       List<Long> receiveObjectIds, List<String> receivePolicyCodes, int page, int size) {
     List<String> pageMobiles = null;
     switch (receiveObjectType) {
-      case TENANT:
-        pageMobiles = userRepo.findValidMobileByTenantIdIn(receiveObjectIds,
-            PageRequest.of(page, size, Sort.Direction.DESC, "id")).getContent();
-        break;
       case USER:
         pageMobiles = userRepo.findValidMobileByIdIn(receiveObjectIds);
         break;
@@ -392,10 +476,6 @@ public class SmsCmdImpl extends CommCmd<Sms, Long> implements SmsCmd {
         pageMobiles = toRoleUserRepo
             .findValidMobileByRoleCodes(receivePolicyCodes, page * size, size);
         break;
-      case ALL:
-        pageMobiles = userRepo
-            .findValidAllMobile(PageRequest.of(page, size, Sort.Direction.DESC, "id")).getContent();
-        break;
       default:
         // NOOP for unsupported recipient types
     }
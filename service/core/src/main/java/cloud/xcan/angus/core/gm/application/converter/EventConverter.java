@@ -22,6 +22,7 @@ import cloud.xcan.angus.core.gm.domain.event.channel.EventChannel;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
 import cloud.xcan.angus.core.gm.interfaces.event.facade.internal.assembler.EventAssembler;
 import cloud.xcan.angus.spec.principal.PrincipalContext;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -88,6 +89,7 @@ public class EventConverter {
         .setChannelType(channel.getType())
         .setType(event.getType())
         .setRetryTimes(0L)
+        .setNextRetryAt(LocalDateTime.now())
         /*.setSecret(channel.getSecret())*/
         .setName(channel.getName());
   }
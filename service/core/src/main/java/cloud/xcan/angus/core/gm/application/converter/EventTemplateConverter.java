@@ -1,6 +1,8 @@
 package cloud.xcan.angus.core.gm.application.converter;
 
+import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.channel.EventChannel;
+import cloud.xcan.angus.core.gm.domain.event.channel.EventChannelP;
 import cloud.xcan.angus.core.gm.domain.event.template.channel.EventTemplateChannel;
 import java.util.Map;
 
@@ -13,6 +15,12 @@ public class EventTemplateConverter {
         .setChannelId(channelId).setChannelType(channelMap.get(channelId).getType());
   }
 
+  public static EventChannel toEventChannel(EventChannelP channelP) {
+    return new EventChannel().setId(channelP.getId())
+        .setType(ReceiveChannelType.valueOf(channelP.getType()))
+        .setName(channelP.getName()).setAddress(channelP.getAddress());
+  }
+
   public static String getEventChannelCacheKey(Long tenantId, Long templateId) {
     return tenantId + ":" + templateId;
   }
@@ -15,9 +15,9 @@ public interface EmailQuery {
 
   EmailTemplate checkAndFindTemplate(Email email);
 
-  List<Email> findTenantEmailInPending(int count);
+  List<Email> findTenantEmailInPending(int count, int partitionCount, int partition);
 
-  List<Email> findPlatformEmailInPending(int count);
+  List<Email> findPlatformEmailInPending(int count, int partitionCount, int partition);
 
   void checkAttachmentQuota(Email email);
 
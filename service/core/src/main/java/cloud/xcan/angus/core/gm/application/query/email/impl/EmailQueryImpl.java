@@ -19,6 +19,7 @@ import cloud.xcan.angus.core.gm.domain.email.template.EmailTemplate;
 import cloud.xcan.angus.core.jpa.repository.summary.SummaryQueryRegister;
 import cloud.xcan.angus.remote.message.http.ResourceNotFound;
 import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -121,8 +122,9 @@ public class EmailQueryImpl implements EmailQuery {
    * </p>
    */
   @Override
-  public List<Email> findTenantEmailInPending(int count) {
-    return emailRepo.findTenantEmailInPending(count);
+  public List<Email> findTenantEmailInPending(int count, int partitionCount, int partition) {
+    return emailRepo.findTenantEmailInPending(count, partitionCount, partition,
+        LocalDateTime.now());
   }
 
   /**
@@ -134,8 +136,9 @@ public class EmailQueryImpl implements EmailQuery {
    * </p>
    */
   @Override
-  public List<Email> findPlatformEmailInPending(int count) {
-    return emailRepo.findPlatformEmailInPending(count);
+  public List<Email> findPlatformEmailInPending(int count, int partitionCount, int partition) {
+    return emailRepo.findPlatformEmailInPending(count, partitionCount, partition,
+        LocalDateTime.now());
   }
 
   /**
@@ -5,6 +5,7 @@ import cloud.xcan.angus.core.gm.domain.event.channel.EventChannel;
 import cloud.xcan.angus.core.gm.domain.event.template.receiver.EventTemplateReceiver;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface EventChannelQuery {
 
@@ -14,6 +15,8 @@ public interface EventChannelQuery {
 
   List<EventChannel> findByTemplateId(Long tenantId, Long templateId);
 
+  Map<Long, List<EventChannel>> findByTemplateIds(Long tenantId, Collection<Long> templateIds);
+
   EventTemplateReceiver findExecByTemplateId(Long tenantId, Long templateId);
 
   EventChannel checkAndFind(Long id);
@@ -5,5 +5,5 @@ import java.util.List;
 
 public interface EventPushQuery {
 
-  List<EventPush> findPushEventInPending(int size, int maxRetryNum);
+  List<EventPush> findPushEventInDue(int size, int partitionCount, int partition);
 }
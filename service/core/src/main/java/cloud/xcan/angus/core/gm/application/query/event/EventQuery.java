@@ -15,6 +15,6 @@ public interface EventQuery {
 
   Event checkAndFind(Long id);
 
-  List<Event> findEventInUnPush(int size);
+  List<Event> findEventInUnPush(int size, int partitionCount, int partition);
 
 }
@@ -2,6 +2,8 @@ package cloud.xcan.angus.core.gm.application.query.event;
 
 import cloud.xcan.angus.core.gm.domain.email.template.EventTemplate;
 import cloud.xcan.angus.core.jpa.criteria.GenericSpecification;
+import java.util.Collection;
+import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
@@ -16,6 +18,8 @@ public interface EventTemplateQuery {
 
   EventTemplate findByEventCode(String eventCode);
 
+  Map<String, EventTemplate> findByEventCodes(Collection<String> eventCodes);
+
   void checkEventNameExist(EventTemplate template);
 
   void checkEventCodeExist(EventTemplate template);
@@ -10,10 +10,12 @@ import static cloud.xcan.angus.spec.utils.ObjectUtils.isNull;
 import cloud.xcan.angus.core.biz.BizTemplate;
 import cloud.xcan.angus.core.biz.exception.BizException;
 import cloud.xcan.angus.core.biz.exception.QuotaException;
+import cloud.xcan.angus.core.gm.application.converter.EventTemplateConverter;
 import cloud.xcan.angus.core.gm.application.query.event.EventChannelQuery;
 import cloud.xcan.angus.core.gm.domain.email.template.EventTemplate;
 import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.channel.EventChannel;
+import cloud.xcan.angus.core.gm.domain.event.channel.EventChannelP;
 import cloud.xcan.angus.core.gm.domain.event.channel.EventChannelRepo;
 import cloud.xcan.angus.core.gm.domain.event.template.EventTemplateRepo;
 import cloud.xcan.angus.core.gm.domain.event.template.channel.EventTemplateChannel;
@@ -25,8 +27,11 @@ import cloud.xcan.angus.remote.message.http.ResourceExisted;
 import cloud.xcan.angus.remote.message.http.ResourceNotFound;
 import jakarta.annotation.Resource;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -103,7 +108,7 @@ public class EventChannelQueryImpl implements EventChannelQuery {
    * </p>
    * <p>
    * Uses cache for performance optimization and returns channels for template. Returns null if no
-   * channels are associated with the template.
+   * channels are associated with the template, the miss is also cached for a short time.
    * </p>
    */
   @Override
@@ -117,16 +122,70 @@ public class EventChannelQueryImpl implements EventChannelQuery {
         if (isNotEmpty(channels)) {
           return channels;
         }
+        if (eventChannelCache.isNotFound(cacheKey)) {
+          return null;
+        }
         channels = eventChannelRepo.findByTemplateId(tenantId, templateId);
         if (isNotEmpty(channels)) {
           eventChannelCache.cacheEventTemplate(cacheKey, channels);
           return channels;
         }
+        eventChannelCache.cacheNotFound(cacheKey);
         return null;
       }
     }.execute();
   }
 
+  /**
+   * <p>
+   * Retrieves event channels associated with multiple templates of a tenant using caching.
+   * </p>
+   * <p>
+   * Templates missing in cache are loaded with one query, templates without channel are cached as
+   * not found for a short time and are absent in the returned map.
+   * </p>
+   */
+  @Override
+  public Map<Long, List<EventChannel>> findByTemplateIds(Long tenantId,
+      Collection<Long> templateIds) {
+    return new BizTemplate<Map<Long, List<EventChannel>>>() {
+
+      @Override
+      protected Map<Long, List<EventChannel>> process() {
+        Map<Long, List<EventChannel>> channelsMap = new HashMap<>();
+        Set<Long> missingTemplateIds = new HashSet<>();
+        for (Long templateId : templateIds) {
+          String cacheKey = getEventChannelCacheKey(tenantId, templateId);
+          List<EventChannel> channels = eventChannelCache.getEventTemplate(cacheKey);
+          if (isNotEmpty(channels)) {
+            channelsMap.put(templateId, channels);
+          } else if (!eventChannelCache.isNotFound(cacheKey)) {
+            missingTemplateIds.add(templateId);
+          }
+        }
+        if (missingTemplateIds.isEmpty()) {
+          return channelsMap;
+        }
+
+        Map<Long, List<EventChannel>> channelsDbMap = eventChannelRepo
+            .findByTemplateIdIn(tenantId, missingTemplateIds).stream()
+            .collect(Collectors.groupingBy(EventChannelP::getTemplateId,
+                Collectors.mapping(EventTemplateConverter::toEventChannel, Collectors.toList())));
+        for (Long templateId : missingTemplateIds) {
+          String cacheKey = getEventChannelCacheKey(tenantId, templateId);
+          List<EventChannel> channels = channelsDbMap.get(templateId);
+          if (isNotEmpty(channels)) {
+            eventChannelCache.cacheEventTemplate(cacheKey, channels);
+            channelsMap.put(templateId, channels);
+          } else {
+            eventChannelCache.cacheNotFound(cacheKey);
+          }
+        }
+        return channelsMap;
+      }
+    }.execute();
+  }
+
   /**
    * <p>
    * Retrieves event template receiver for template execution.
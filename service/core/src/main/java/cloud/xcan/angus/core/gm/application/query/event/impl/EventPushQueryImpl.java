@@ -4,6 +4,7 @@ import cloud.xcan.angus.core.gm.application.query.event.EventPushQuery;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPushRepo;
 import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,16 +31,16 @@ public class EventPushQueryImpl implements EventPushQuery {
 
   /**
    * <p>
-   * Retrieves pending event push records for processing.
+   * Retrieves due event push records for processing.
    * </p>
    * <p>
-   * Returns events that are pending for push with retry limit validation. Limits results by size
-   * and maximum retry number for processing control.
+   * Returns unpushed events whose next attempt time is reached, earliest first. Pushes with
+   * exhausted retries have no next attempt time and are never returned.
    * </p>
    */
   @Override
-  public List<EventPush> findPushEventInPending(int size, int maxRetryNum) {
-    return eventPushRepo.findPushEventInPending(size, maxRetryNum);
+  public List<EventPush> findPushEventInDue(int size, int partitionCount, int partition) {
+    return eventPushRepo.findPushEventInDue(size, LocalDateTime.now(), partitionCount, partition);
   }
 
 }
@@ -113,8 +113,9 @@ public class EventQueryImpl implements EventQuery {
    * </p>
    */
   @Override
-  public List<Event> findEventInUnPush(int size) {
-    return eventRepo.findAllByPushStatus(EventPushStatus.PENDING.getValue(), size);
+  public List<Event> findEventInUnPush(int size, int partitionCount, int partition) {
+    return eventRepo.findAllByPushStatus(EventPushStatus.PENDING.getValue(), size,
+        partitionCount, partition);
   }
 
 }
@@ -19,6 +19,9 @@ import cloud.xcan.angus.core.gm.infra.config.EventTemplateCache;
 import cloud.xcan.angus.core.jpa.criteria.GenericSpecification;
 import cloud.xcan.angus.remote.message.http.ResourceNotFound;
 import jakarta.annotation.Resource;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -136,7 +139,7 @@ public class EventTemplateQueryImpl implements EventTemplateQuery {
    * </p>
    * <p>
    * Uses cache for performance optimization and returns template for event code. Returns null if no
-   * template found for the event code.
+   * template found for the event code, the miss is also cached for a short time.
    * </p>
    */
   @Override
@@ -145,14 +148,54 @@ public class EventTemplateQueryImpl implements EventTemplateQuery {
     if (nonNull(template)) {
       return template;
     }
+    if (eventTemplateCache.isNotFound(eventCode)) {
+      return null;
+    }
     template = eventTemplateRepo.getByEventCode(eventCode);
     if (nonNull(template)) {
       eventTemplateCache.cacheEventTemplate(template);
       return template;
     }
+    eventTemplateCache.cacheNotFound(eventCode);
     return null;
   }
 
+  /**
+   * <p>
+   * Retrieves event templates of multiple event codes using caching.
+   * </p>
+   * <p>
+   * Codes missing in cache are loaded with one query, codes without template are cached as not
+   * found for a short time and are absent in the returned map.
+   * </p>
+   */
+  @Override
+  public Map<String, EventTemplate> findByEventCodes(Collection<String> eventCodes) {
+    Map<String, EventTemplate> templateMap = new HashMap<>();
+    Set<String> missingCodes = new HashSet<>();
+    for (String eventCode : eventCodes) {
+      EventTemplate template = eventTemplateCache.getEventTemplate(eventCode);
+      if (nonNull(template)) {
+        templateMap.put(eventCode, template);
+      } else if (!eventTemplateCache.isNotFound(eventCode)) {
+        missingCodes.add(eventCode);
+      }
+    }
+    if (missingCodes.isEmpty()) {
+      return templateMap;
+    }
+
+    for (EventTemplate template : eventTemplateRepo.findAllByEventCodeIn(missingCodes)) {
+      eventTemplateCache.cacheEventTemplate(template);
+      templateMap.put(template.getEventCode(), template);
+      missingCodes.remove(template.getEventCode());
+    }
+    for (String eventCode : missingCodes) {
+      eventTemplateCache.cacheNotFound(eventCode);
+    }
+    return templateMap;
+  }
+
   /**
    * <p>
    * Validates event template name uniqueness.
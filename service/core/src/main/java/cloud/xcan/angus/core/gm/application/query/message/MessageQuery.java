@@ -16,6 +16,7 @@ public interface MessageQuery {
   Page<MessageInfo> find(GenericSpecification<MessageInfo> spec, PageRequest pageable,
       boolean fullTextSearch, String[] match);
 
-  List<Message> getPendingMessage(MessageReceiveType receiveType, int size);
+  List<Message> getPendingMessage(MessageReceiveType receiveType, int size, int partitionCount,
+      int partition);
 
 }
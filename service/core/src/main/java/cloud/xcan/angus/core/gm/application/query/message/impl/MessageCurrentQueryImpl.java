@@ -10,6 +10,7 @@ import cloud.xcan.angus.core.gm.domain.message.MessageInfoRepo;
 import cloud.xcan.angus.core.gm.domain.message.MessageReadTab;
 import cloud.xcan.angus.core.gm.domain.message.MessageRepo;
 import cloud.xcan.angus.core.gm.domain.message.MessageSent;
+import cloud.xcan.angus.core.gm.infra.message.MessageInboxCounter;
 import cloud.xcan.angus.core.gm.interfaces.message.facade.vo.MessageStatusCountVo;
 import cloud.xcan.angus.remote.message.http.ResourceNotFound;
 import jakarta.annotation.Resource;
@@ -47,6 +48,8 @@ public class MessageCurrentQueryImpl implements MessageCurrentQuery {
   private MessageRepo messageRepo;
   @Resource
   private MessageInfoRepo messageInfoRepo;
+  @Resource
+  private MessageInboxCounter messageInboxCounter;
 
   /**
    * <p>
@@ -111,6 +114,10 @@ public class MessageCurrentQueryImpl implements MessageCurrentQuery {
    * Returns count statistics for all, read, and unread messages. Provides comprehensive status
    * overview for message management.
    * </p>
+   * <p>
+   * Counts are read from the inbox counters, the message records are only counted when the
+   * counters of the user are not loaded.
+   * </p>
    */
   @Override
   public List<MessageStatusCountVo> statusCount(Long userId) {
@@ -119,8 +126,17 @@ public class MessageCurrentQueryImpl implements MessageCurrentQuery {
       @Override
       protected List<MessageStatusCountVo> process() {
         ArrayList<MessageStatusCountVo> messageStatusCountVos = new ArrayList<>(3);
-        long readMessages = messageCurrentRepo.countByReceiveUserIdAndRead(userId, true);
-        long noReadMessages = messageCurrentRepo.countByReceiveUserIdAndRead(userId, false);
+        long readMessages;
+        long noReadMessages;
+        long[] counts = messageInboxCounter.get(userId);
+        if (counts != null) {
+          readMessages = counts[0];
+          noReadMessages = counts[1];
+        } else {
+          readMessages = messageCurrentRepo.countByReceiveUserIdAndRead(userId, true);
+          noReadMessages = messageCurrentRepo.countByReceiveUserIdAndRead(userId, false);
+          messageInboxCounter.load(userId, readMessages, noReadMessages);
+        }
         messageStatusCountVos.add(
             new MessageStatusCountVo().setCount(noReadMessages + readMessages)
                 .setTab(MessageReadTab.ALL).setRead(null));
@@ -99,13 +99,14 @@ public class MessageQueryImpl implements MessageQuery {
    * </p>
    */
   @Override
-  public List<Message> getPendingMessage(MessageReceiveType receiveType, int size) {
+  public List<Message> getPendingMessage(MessageReceiveType receiveType, int size,
+      int partitionCount, int partition) {
     return new BizTemplate<List<Message>>(false) {
 
       @Override
       protected List<Message> process() {
-        return messageRepo.findAllByReceiveTypeAndStatusAndTimingDateBefore(receiveType,
-            MessageStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, size));
+        return messageRepo.findPendingByPartition(receiveType, MessageStatus.PENDING,
+            LocalDateTime.now(), partitionCount, partition, PageRequest.of(0, size));
       }
     }.execute();
   }
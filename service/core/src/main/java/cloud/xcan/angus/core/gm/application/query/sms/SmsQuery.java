@@ -16,7 +16,7 @@ public interface SmsQuery {
 
   Page<Sms> list(Specification<Sms> spec, Pageable pageable);
 
-  List<Sms> findSmsInPending(int count);
+  List<Sms> findSmsInPending(int count, int partitionCount, int partition);
 
   void checkVerifyCodeSendRepeated(Sms sms);
 
@@ -121,8 +121,9 @@ public class SmsQueryImpl implements SmsQuery {
    * </p>
    */
   @Override
-  public List<Sms> findSmsInPending(int count) {
-    return smsRepo.findAllBySendStatusAndSize(ProcessStatus.PENDING.getValue(), count);
+  public List<Sms> findSmsInPending(int count, int partitionCount, int partition) {
+    return smsRepo.findAllBySendStatusAndSize(ProcessStatus.PENDING.getValue(), count,
+        partitionCount, partition);
   }
 
   /**
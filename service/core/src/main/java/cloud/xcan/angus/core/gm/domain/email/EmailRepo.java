@@ -24,11 +24,13 @@ public interface EmailRepo extends BaseRepository<Email, Long> {
    * Fix:: Condition receive_object_type <> 'ALL' does not contain null value -> receive_object_type
    * <> 'ALL' OR receive_object_type is null
    */
-  @Query(value = "SELECT * FROM email WHERE send_status = 'PENDING' AND (receive_object_type <> 'ALL' OR receive_object_type is null) LIMIT ?1", nativeQuery = true)
-  List<Email> findTenantEmailInPending(int count);
+  @Query(value = "SELECT * FROM email WHERE send_status = 'PENDING' AND (receive_object_type <> 'ALL' OR receive_object_type is null) AND (urgent = 1 OR verification_code = 1 OR expected_send_date <= ?4) AND MOD(id, ?2) = ?3 ORDER BY urgent DESC, verification_code DESC LIMIT ?1", nativeQuery = true)
+  List<Email> findTenantEmailInPending(int count, int partitionCount, int partition,
+      LocalDateTime now);
 
-  @Query(value = "SELECT * FROM email WHERE send_status = 'PENDING' AND receive_object_type = 'ALL' LIMIT ?1", nativeQuery = true)
-  List<Email> findPlatformEmailInPending(int count);
+  @Query(value = "SELECT * FROM email WHERE send_status = 'PENDING' AND receive_object_type = 'ALL' AND (urgent = 1 OR verification_code = 1 OR expected_send_date <= ?4) AND MOD(id, ?2) = ?3 ORDER BY urgent DESC, verification_code DESC LIMIT ?1", nativeQuery = true)
+  List<Email> findPlatformEmailInPending(int count, int partitionCount, int partition,
+      LocalDateTime now);
 
   @Modifying
   @Query(value = "DELETE FROM email WHERE id in ?1", nativeQuery = true)
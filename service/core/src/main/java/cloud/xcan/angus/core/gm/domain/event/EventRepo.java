@@ -12,8 +12,8 @@ import org.springframework.data.repository.NoRepositoryBean;
 @NoRepositoryBean
 public interface EventRepo extends BaseRepository<Event, Long> {
 
-  @Query(value = "SELECT * FROM event WHERE push_status = ?1 limit ?2", nativeQuery = true)
-  List<Event> findAllByPushStatus(String pushStatus, int size);
+  @Query(value = "SELECT * FROM event WHERE push_status = ?1 AND MOD(id, ?3) = ?4 limit ?2", nativeQuery = true)
+  List<Event> findAllByPushStatus(String pushStatus, int size, int partitionCount, int partition);
 
   long countByIdAndPushStatus(Long id, EventPushStatus status);
 
@@ -24,4 +24,16 @@ public interface EventRepo extends BaseRepository<Event, Long> {
   @Modifying
   @Query(value = "UPDATE event SET push_status=?2, push_msg=?3 WHERE id in ?1 AND push_status <> 'PUSH_SUCCESS'", nativeQuery = true)
   void updatePushStatusWhenNotSuccess(Collection<Long> ids, String pushStatus, String pushMsg);
+
+  /**
+   * Roll up the push status of events from their pushed channels, the event is successful if at
+   * least one channel succeeds. Events whose pushes were only deferred and never attempted keep
+   * their status.
+   */
+  @Modifying
+  @Query(value = "UPDATE event SET push_status = CASE WHEN EXISTS (SELECT 1 FROM event_push p WHERE p.event_id = event.id AND p.push = 1) THEN 'PUSH_SUCCESS' "
+      + "WHEN EXISTS (SELECT 1 FROM event_push p WHERE p.event_id = event.id AND p.retry_times > 0) THEN 'PUSH_FAIL' ELSE push_status END, "
+      + "push_msg = COALESCE((SELECT p.push_msg FROM event_push p WHERE p.event_id = event.id AND p.retry_times > 0 ORDER BY p.push DESC LIMIT 1), push_msg) "
+      + "WHERE id IN ?1 AND push_status <> 'PUSH_SUCCESS'", nativeQuery = true)
+  void updatePushStatusByPushResults(Collection<Long> ids);
 }
@@ -2,6 +2,7 @@ package cloud.xcan.angus.core.gm.domain.event.channel;
 
 import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -23,4 +24,10 @@ public interface EventChannelRepo extends BaseRepository<EventChannel, Long> {
   List<EventChannel> findByTemplateId(@Param(value = "tenantId") Long tenantId,
       @Param(value = "templateId") Long templateId);
 
+  @Query(value = "SELECT rs.id id, rs.type type, rs.name name, rs.address address, ts.template_id templateId "
+      + "FROM event_channel rs INNER JOIN event_template_channel ts "
+      + "ON rs.id=ts.channel_id AND ts.tenant_id= :tenantId AND rs.tenant_id= :tenantId AND ts.template_id IN :templateIds", nativeQuery = true)
+  List<EventChannelP> findByTemplateIdIn(@Param(value = "tenantId") Long tenantId,
+      @Param(value = "templateIds") Collection<Long> templateIds);
+
 }
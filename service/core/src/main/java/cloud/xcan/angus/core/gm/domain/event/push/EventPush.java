@@ -10,6 +10,7 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
@@ -56,6 +57,12 @@ public class EventPush extends EntitySupport<EventPush, Long> {
   @Column(name = "retry_times")
   private Long retryTimes;
 
+  /**
+   * Time of the next push attempt, null when pushed successfully or retries are exhausted.
+   */
+  @Column(name = "next_retry_at")
+  private LocalDateTime nextRetryAt;
+
   @Override
   public Long identity() {
     return this.id;
@@ -75,6 +82,7 @@ public class EventPush extends EntitySupport<EventPush, Long> {
         ", push=" + push +
         ", pushFailMessage='" + pushMsg + '\'' +
         ", retryTimes=" + retryTimes +
+        ", nextRetryAt=" + nextRetryAt +
         '}';
   }
 }
@@ -1,6 +1,7 @@
 package cloud.xcan.angus.core.gm.domain.event.push;
 
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -9,7 +10,12 @@ import org.springframework.data.repository.NoRepositoryBean;
 @NoRepositoryBean
 public interface EventPushRepo extends BaseRepository<EventPush, Long> {
 
-  @Query(value = "SELECT * FROM event_push WHERE push = 0 AND retry_times <= ?2 LIMIT ?1", nativeQuery = true)
-  List<EventPush> findPushEventInPending(int size, int maxRetryNum);
+  /**
+   * Due pushes, a NULL <code>next_retry_at</code> marks exhausted retries and is never due, rows of
+   * earlier versions are backfilled by <code>gm_upgrade.sql</code>.
+   */
+  @Query(value = "SELECT * FROM event_push WHERE push = 0 AND next_retry_at <= ?2 AND MOD(id, ?3) = ?4 ORDER BY next_retry_at LIMIT ?1", nativeQuery = true)
+  List<EventPush> findPushEventInDue(int size, LocalDateTime now, int partitionCount,
+      int partition);
 
 }
@@ -2,6 +2,8 @@ package cloud.xcan.angus.core.gm.domain.event.template;
 
 import cloud.xcan.angus.core.gm.domain.email.template.EventTemplate;
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.repository.NoRepositoryBean;
 
 
@@ -10,6 +12,8 @@ public interface EventTemplateRepo extends BaseRepository<EventTemplate, Long> {
 
   EventTemplate getByEventCode(String code);
 
+  List<EventTemplate> findAllByEventCodeIn(Collection<String> codes);
+
   boolean existsByEventCode(String code);
 
   boolean existsByEventName(String eventName);
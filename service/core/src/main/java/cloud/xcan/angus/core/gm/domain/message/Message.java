@@ -64,6 +64,12 @@ public class Message extends TenantEntity<Message, Long> {
   @Column(name = "sent_num")
   private Integer sentNum;
 
+  /**
+   * The last receive user ID the message was sent to, sending in chunks resumes after it.
+   */
+  @Column(name = "sent_user_cursor")
+  private Long sentUserCursor;
+
   @Column(name = "read_num")
   private Integer readNum;
 
@@ -110,6 +116,15 @@ public class Message extends TenantEntity<Message, Long> {
         && Objects.isNull(receiveTenantId);
   }
 
+  /**
+   * Whether the message is sent to all users of the platform or a tenant, such messages are
+   * merged into user inboxes when they are read.
+   */
+  public boolean isBroadcast() {
+    return ReceiveObjectType.ALL.equals(receiveObjectType)
+        || ReceiveObjectType.TENANT.equals(receiveObjectType);
+  }
+
   @Override
   public Long identity() {
     return this.id;
@@ -0,0 +1,41 @@
+package cloud.xcan.angus.core.gm.domain.message;
+
+import static cloud.xcan.angus.spec.SpecConstant.DateFormat.DATE_FMT;
+
+import cloud.xcan.angus.spec.experimental.EntitySupport;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Watermark of broadcast messages merged into the inbox of a user.
+ *
+ * <p>Broadcast messages to all users of the platform or a tenant are stored once, they are
+ * merged into the inbox of a user when the user reads it. Messages sent before
+ * {@link #syncedDate} have been merged.</p>
+ */
+@Entity
+@Table(name = "message_broadcast_sync")
+@Setter
+@Getter
+@Accessors(chain = true)
+public class MessageBroadcastSync extends EntitySupport<MessageBroadcastSync, Long> {
+
+  @Id
+  private Long userId;
+
+  private Long tenantId;
+
+  @DateTimeFormat(pattern = DATE_FMT)
+  private LocalDateTime syncedDate;
+
+  @Override
+  public Long identity() {
+    return this.userId;
+  }
+}
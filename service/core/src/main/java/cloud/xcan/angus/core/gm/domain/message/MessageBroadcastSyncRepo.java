@@ -0,0 +1,21 @@
+package cloud.xcan.angus.core.gm.domain.message;
+
+import cloud.xcan.angus.core.jpa.repository.BaseRepository;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+
+
+@NoRepositoryBean
+public interface MessageBroadcastSyncRepo extends BaseRepository<MessageBroadcastSync, Long> {
+
+  /**
+   * Moves the watermark of the user forward, concurrent merges never move it back.
+   */
+  @Modifying
+  @Query(value = "INSERT INTO message_broadcast_sync (user_id, tenant_id, synced_date) VALUES (?1, ?2, ?3) "
+      + "ON DUPLICATE KEY UPDATE synced_date = GREATEST(synced_date, VALUES(synced_date))", nativeQuery = true)
+  void upsertSyncedDate(Long userId, Long tenantId, LocalDateTime syncedDate);
+
+}
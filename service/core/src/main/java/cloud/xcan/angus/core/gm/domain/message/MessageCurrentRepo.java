@@ -17,8 +17,23 @@ public interface MessageCurrentRepo extends BaseRepository<MessageSent, Long> {
 
   List<MessageSent> getAllByReceiveUserIdAndRead(Long userid, Boolean read);
 
+  List<MessageSent> findAllByIdInAndReceiveUserId(Collection<Long> ids, Long userId);
+
   long countByReceiveUserIdAndRead(Long userid, Boolean read);
 
+  @Query(value = "SELECT MIN(sent_date) FROM message_sent WHERE receive_user_id = ?1", nativeQuery = true)
+  LocalDateTime findMinSentDateByReceiveUserId(Long userId);
+
+  /**
+   * Adds the message record of a user unless the user already has one, so concurrent merges of
+   * broadcast messages do not fail on the unique key.
+   */
+  @Modifying
+  @Query(value = "INSERT IGNORE INTO message_sent (id, message_id, receive_tenant_id, receive_user_id, `read`, sent_date, deleted, created_date) "
+      + "VALUES (?1, ?2, ?3, ?4, 0, ?5, 0, ?6)", nativeQuery = true)
+  int insertIgnore(Long id, Long messageId, Long receiveTenantId, Long receiveUserId,
+      LocalDateTime sentDate, LocalDateTime createdDate);
+
   @Modifying
   @Query(value = "UPDATE message_sent SET deleted = true , deleted_date = ?2 WHERE id IN ?1", nativeQuery = true)
   void updateDeletedByIdIn(Collection<Long> ids, LocalDateTime now);
@@ -27,4 +42,8 @@ public interface MessageCurrentRepo extends BaseRepository<MessageSent, Long> {
   @Query(value = "UPDATE message_sent SET `read` = true , read_date = ?2 WHERE id IN ?1", nativeQuery = true)
   void updateReadByIdIn(Collection<Long> ids, LocalDateTime now);
 
+  @Modifying
+  @Query(value = "UPDATE message_sent SET `read` = true , read_date = ?3 WHERE id IN ?1 AND receive_user_id = ?2 AND `read` = false AND deleted = 0", nativeQuery = true)
+  int updateUnreadByIdInAndReceiveUserId(Collection<Long> ids, Long userId, LocalDateTime now);
+
 }
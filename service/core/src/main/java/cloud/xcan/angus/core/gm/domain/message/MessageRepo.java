@@ -13,8 +13,22 @@ import org.springframework.data.repository.NoRepositoryBean;
 @NoRepositoryBean
 public interface MessageRepo extends BaseRepository<Message, Long> {
 
-  List<Message> findAllByReceiveTypeAndStatusAndTimingDateBefore(MessageReceiveType receiveType,
-      MessageStatus status, LocalDateTime now, Pageable pageable);
+  @Query(value = "SELECT m FROM Message m WHERE m.receiveType = ?1 AND m.status = ?2 AND m.timingDate < ?3 AND MOD(m.id, ?4) = ?5")
+  List<Message> findPendingByPartition(MessageReceiveType receiveType, MessageStatus status,
+      LocalDateTime now, int partitionCount, int partition, Pageable pageable);
+
+  List<Message> findAllByStatusAndTimingDateBetween(MessageStatus status, LocalDateTime from,
+      LocalDateTime to);
+
+  /**
+   * Finds the sent broadcast site messages to all users of the platform or the tenant that are
+   * sent since the watermark and not yet in the inbox of the user.
+   */
+  @Query(value = "SELECT * FROM message m WHERE m.deleted = 0 AND m.receive_type = 'SITE' AND m.status = 'SENT' "
+      + "AND m.receive_object_type IN ('ALL', 'TENANT') AND (m.receive_tenant_id IS NULL OR m.receive_tenant_id = ?2) "
+      + "AND m.send_date >= ?3 AND NOT EXISTS (SELECT 1 FROM message_sent s WHERE s.message_id = m.id AND s.receive_user_id = ?1) "
+      + "ORDER BY m.send_date LIMIT ?4", nativeQuery = true)
+  List<Message> findBroadcastNotSent(Long userId, Long tenantId, LocalDateTime after, int size);
 
   @Modifying
   @Query(value = "UPDATE Message SET readNum = readNum + 1 WHERE id IN ?1")
@@ -1,20 +1,31 @@
 package cloud.xcan.angus.core.gm.domain.message;
 
 import cloud.xcan.angus.core.jpa.repository.BaseRepository;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @NoRepositoryBean
 public interface MessageSentRepo extends BaseRepository<MessageSent, Long> {
 
-  @Query(value = "SELECT a0.receive_user_id FROM message_sent a0 GROUP BY a0.receive_user_id HAVING(count(a0.receive_user_id) > ?1) LIMIT ?2", nativeQuery = true)
-  List<Long> getReceiveUserIdHavingCount(Long reservedNum, Long batchNum);
+  @Query(value = "SELECT a0.receive_user_id FROM message_sent a0 WHERE a0.receive_user_id > ?1 GROUP BY a0.receive_user_id HAVING(count(a0.receive_user_id) > ?2) ORDER BY a0.receive_user_id LIMIT ?3", nativeQuery = true)
+  List<Long> findReceiveUserIdHavingCountAfter(Long afterUserId, long reservedNum, int batchNum);
+
+  /**
+   * Finds the ID of the newest message of the user that is not reserved.
+   */
+  @Query(value = "SELECT id FROM message_sent WHERE receive_user_id = ?1 ORDER BY id DESC LIMIT 1 OFFSET ?2", nativeQuery = true)
+  Long findFirstUnreservedId(Long receiveUserId, long reservedNum);
+
+  @Query(value = "SELECT id FROM message_sent WHERE receive_user_id = ?1 AND id <= ?2 ORDER BY id LIMIT ?3", nativeQuery = true)
+  List<Long> findIdByReceiveUserIdAndIdLessThanEqual(Long receiveUserId, Long maxId, int size);
 
   @Modifying
-  @Query(value = "DELETE FROM message_sent WHERE receive_user_id = ?1 AND id NOT IN "
-      + "(SELECT id FROM (SELECT id FROM message_sent WHERE receive_user_id = ?1 ORDER BY id DESC LIMIT ?2) as a)", nativeQuery = true)
-  void deleteByReceiveUserIdAndCount(Long targetId, Long reservedNum);
+  @Transactional(rollbackFor = Exception.class)
+  @Query(value = "DELETE FROM message_sent WHERE id IN ?1", nativeQuery = true)
+  int deleteByIdIn(Collection<Long> ids);
 }
@@ -22,6 +22,10 @@ public interface MessageCenterOnlineRepo extends BaseRepository<MessageCenterOnl
   @Query(value = "UPDATE message_center_online SET online = false, offline_date = now() WHERE session_id = ?1 AND user_id = ?2", nativeQuery = true)
   void updateOfflineBySessionIdAndUserId(String sessionId, Long userId);
 
+  @Modifying
+  @Query(value = "UPDATE message_center_online SET online = false, offline_date = now() WHERE session_id IN ?1", nativeQuery = true)
+  void updateOfflineBySessionIdIn(Collection<String> sessionIds);
+
   @Modifying
   @Query(value = "UPDATE message_center_online SET online = false, offline_date = now() WHERE user_id IN ?1", nativeQuery = true)
   void updateOfflineByUserIdIn(Collection<Long> userIds);
@@ -0,0 +1,25 @@
+package cloud.xcan.angus.core.gm.domain.message.center;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * Pending online status change of a message center session.
+ */
+@Setter
+@Getter
+@Accessors(chain = true)
+public class SessionPresence {
+
+  private String sessionId;
+
+  private String username;
+
+  private String userAgent;
+
+  private String deviceId;
+
+  private String remoteAddress;
+
+}
@@ -21,6 +21,7 @@ public interface SmsRepo extends BaseRepository<Sms, Long> {
   @Query("DELETE FROM Sms s WHERE s.id IN (?1)")
   void deleteByIdIn(HashSet<Long> ids);
 
-  @Query(value = "SELECT * FROM sms WHERE send_status = ?1 LIMIT ?2", nativeQuery = true)
-  List<Sms> findAllBySendStatusAndSize(String sendStatus, int count);
+  @Query(value = "SELECT * FROM sms WHERE send_status = ?1 AND MOD(id, ?3) = ?4 LIMIT ?2", nativeQuery = true)
+  List<Sms> findAllBySendStatusAndSize(String sendStatus, int count, int partitionCount,
+      int partition);
 }
@@ -0,0 +1,23 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import java.util.function.Consumer;
+
+/**
+ * Propagates evictions of JVM local caches to every GM instance.
+ *
+ * <p>Local caches register an evictor under a unique cache name, writers call
+ * {@link #invalidate(String, String)} and the key is evicted on this node immediately and on all
+ * nodes after the current transaction commits.</p>
+ */
+public interface CacheInvalidationBus {
+
+  /**
+   * Key that evicts all entries of a cache.
+   */
+  String ALL_KEYS = "*";
+
+  void register(String cacheName, Consumer<String> evictor);
+
+  void invalidate(String cacheName, String key);
+
+}
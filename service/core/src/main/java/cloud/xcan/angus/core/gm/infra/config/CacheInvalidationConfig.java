@@ -0,0 +1,40 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import static cloud.xcan.angus.core.gm.infra.config.RedisCacheInvalidationBus.INVALIDATION_CHANNEL;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class CacheInvalidationConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "xcan.cache.invalidation.mode", havingValue = "REDIS", matchIfMissing = true)
+  public RedisCacheInvalidationBus redisCacheInvalidationBus(
+      StringRedisTemplate stringRedisTemplate) {
+    return new RedisCacheInvalidationBus(stringRedisTemplate);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "xcan.cache.invalidation.mode", havingValue = "REDIS", matchIfMissing = true)
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+      RedisConnectionFactory redisConnectionFactory,
+      RedisCacheInvalidationBus redisCacheInvalidationBus) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(redisConnectionFactory);
+    container.addMessageListener(redisCacheInvalidationBus, new ChannelTopic(INVALIDATION_CHANNEL));
+    return container;
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "xcan.cache.invalidation.mode", havingValue = "LOCAL")
+  public LocalCacheInvalidationBus localCacheInvalidationBus() {
+    return new LocalCacheInvalidationBus();
+  }
+
+}
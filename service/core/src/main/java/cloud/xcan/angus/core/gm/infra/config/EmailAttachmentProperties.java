@@ -0,0 +1,45 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+@ConfigurationProperties(prefix = "xcan.email.attachment", ignoreUnknownFields = false)
+public class EmailAttachmentProperties {
+
+  /**
+   * Attachments up to this size are kept in memory, larger ones in the spill directory.
+   */
+  private long maxInMemoryBytes = 1024 * 1024;
+
+  /**
+   * Maximum bytes of attachments kept in memory, the least recently used are evicted beyond it.
+   */
+  private long maxMemoryBytes = 64 * 1024 * 1024;
+
+  /**
+   * Maximum bytes of attachments kept in the spill directory, the least recently used are
+   * evicted beyond it.
+   */
+  private long maxDiskBytes = 1024 * 1024 * 1024;
+
+  /**
+   * Attachments not used for this period are evicted.
+   */
+  private long expireSeconds = 10 * 60;
+
+  /**
+   * Directory of the attachments too large to be kept in memory, each instance spills into its
+   * own subdirectory and removes it on shutdown.
+   */
+  private String spillDir = System.getProperty("java.io.tmpdir") + "/angus-gm/email-attachment";
+
+  private int connectionTimeoutMillis = 6 * 1000;
+
+  private int readTimeoutMillis = 60 * 1000;
+
+}
@@ -0,0 +1,32 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import cloud.xcan.angus.core.gm.infra.mail.EmailAttachmentCache;
+import cloud.xcan.angus.core.gm.infra.mail.EmailDeliveryEngine;
+import cloud.xcan.angus.core.gm.infra.mail.SmtpTransportPool;
+import java.io.IOException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({EmailTransportProperties.class, EmailDeliveryProperties.class,
+    EmailAttachmentProperties.class})
+public class EmailConfig {
+
+  @Bean
+  public SmtpTransportPool smtpTransportPool(EmailTransportProperties emailTransportProperties) {
+    return new SmtpTransportPool(emailTransportProperties);
+  }
+
+  @Bean
+  public EmailDeliveryEngine emailDeliveryEngine(EmailDeliveryProperties emailDeliveryProperties) {
+    return new EmailDeliveryEngine(emailDeliveryProperties);
+  }
+
+  @Bean
+  public EmailAttachmentCache emailAttachmentCache(
+      EmailAttachmentProperties emailAttachmentProperties) throws IOException {
+    return new EmailAttachmentCache(emailAttachmentProperties);
+  }
+
+}
@@ -0,0 +1,30 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+@ConfigurationProperties(prefix = "xcan.email.delivery", ignoreUnknownFields = false)
+public class EmailDeliveryProperties {
+
+  /**
+   * Number of threads sending the emails of the send jobs.
+   */
+  private int poolSize = 8;
+
+  /**
+   * Maximum emails sent at the same time over one email server.
+   */
+  private int maxConcurrencyPerServer = 4;
+
+  /**
+   * Maximum emails sent at the same time to the addresses of one recipient domain, receiving
+   * servers throttle or reject senders opening too many connections.
+   */
+  private int maxConcurrencyPerDomain = 2;
+
+}
@@ -0,0 +1,43 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+@ConfigurationProperties(prefix = "xcan.email.transport", ignoreUnknownFields = false)
+public class EmailTransportProperties {
+
+  /**
+   * Maximum emails sent over one SMTP connection before it is closed, some servers limit the
+   * messages per connection.
+   */
+  private int maxMessagesPerConnection = 100;
+
+  /**
+   * Maximum idle SMTP connections kept for each email server.
+   */
+  private int maxIdlePerServer = 8;
+
+  /**
+   * Idle SMTP connections are closed after this period.
+   */
+  private long idleTimeoutSeconds = 60;
+
+  /**
+   * Idle SMTP connections are checked with a NOOP command before reuse when they have been idle
+   * longer than this.
+   */
+  private long validateAfterIdleMillis = 5 * 1000;
+
+  private int connectionTimeoutMillis = 6 * 1000;
+
+  /**
+   * Read and write timeout of SMTP connections.
+   */
+  private int timeoutMillis = 2 * 60 * 1000;
+
+}
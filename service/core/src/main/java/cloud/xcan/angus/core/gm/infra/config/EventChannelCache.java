@@ -8,24 +8,83 @@ import java.util.concurrent.TimeUnit;
 
 public class EventChannelCache {
 
+  public static final String CACHE_NAME = "eventChannel";
+
+  private static final String ANY_TENANT_PREFIX = "*:";
+
   private final Cache<String, List<EventChannel>> eventChannelCache;
 
-  public EventChannelCache() {
+  /**
+   * Tenant templates without channel, cached shortly so that unconfigured templates do not hit
+   * the database for every event.
+   */
+  private final Cache<String, Boolean> notFoundCache;
+
+  private final CacheInvalidationBus invalidationBus;
+
+  public EventChannelCache(CacheInvalidationBus invalidationBus) {
+    this.invalidationBus = invalidationBus;
     this.eventChannelCache = CacheBuilder.newBuilder()
         .expireAfterWrite(1, TimeUnit.DAYS)
         .build();
+    this.notFoundCache = CacheBuilder.newBuilder()
+        .maximumSize(10000)
+        .expireAfterWrite(1, TimeUnit.MINUTES)
+        .build();
+    invalidationBus.register(CACHE_NAME, this::evictLocal);
   }
 
   public void cacheEventTemplate(String tenantAndTemplateId, List<EventChannel> channels) {
     this.eventChannelCache.put(tenantAndTemplateId, channels);
+    this.notFoundCache.invalidate(tenantAndTemplateId);
   }
 
   public List<EventChannel> getEventTemplate(String tenantAndTemplateId) {
     return this.eventChannelCache.getIfPresent(tenantAndTemplateId);
   }
 
-  public void clearEventTemplates(String tenantAndTemplateId) {
+  public void cacheNotFound(String tenantAndTemplateId) {
     this.eventChannelCache.invalidate(tenantAndTemplateId);
+    this.notFoundCache.put(tenantAndTemplateId, Boolean.TRUE);
+  }
+
+  public boolean isNotFound(String tenantAndTemplateId) {
+    return this.notFoundCache.getIfPresent(tenantAndTemplateId) != null;
+  }
+
+  /**
+   * Evicts the tenant template on all GM instances.
+   */
+  public void clearEventTemplates(String tenantAndTemplateId) {
+    this.invalidationBus.invalidate(CACHE_NAME, tenantAndTemplateId);
+  }
+
+  /**
+   * Evicts the template of all tenants on all GM instances.
+   */
+  public void clearEventTemplates(Long templateId) {
+    this.invalidationBus.invalidate(CACHE_NAME, ANY_TENANT_PREFIX + templateId);
+  }
+
+  /**
+   * Evicts all entries on all GM instances, e.g. after a channel is modified.
+   */
+  public void clearAll() {
+    this.invalidationBus.invalidate(CACHE_NAME, CacheInvalidationBus.ALL_KEYS);
+  }
+
+  private void evictLocal(String key) {
+    if (CacheInvalidationBus.ALL_KEYS.equals(key)) {
+      this.eventChannelCache.invalidateAll();
+      this.notFoundCache.invalidateAll();
+    } else if (key.startsWith(ANY_TENANT_PREFIX)) {
+      String templateSuffix = key.substring(ANY_TENANT_PREFIX.length() - 1);
+      this.eventChannelCache.asMap().keySet().removeIf(k -> k.endsWith(templateSuffix));
+      this.notFoundCache.asMap().keySet().removeIf(k -> k.endsWith(templateSuffix));
+    } else {
+      this.eventChannelCache.invalidate(key);
+      this.notFoundCache.invalidate(key);
+    }
   }
 
 }
@@ -1,13 +1,29 @@
 package cloud.xcan.angus.core.gm.infra.config;
 
+import static cloud.xcan.angus.core.gm.interfaces.event.facade.internal.assembler.EventAssembler.toAddDomain;
+
 import cloud.xcan.angus.core.gm.application.cmd.event.EventChannelPushCmd;
+import cloud.xcan.angus.core.gm.application.cmd.event.EventCmd;
+import cloud.xcan.angus.core.gm.application.cmd.event.EventPushCmd;
 import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
+import cloud.xcan.angus.core.gm.infra.event.EventDuplicateFilter;
+import cloud.xcan.angus.core.gm.infra.event.EventIngestionBuffer;
+import cloud.xcan.angus.core.gm.infra.event.EventPushDispatcher;
+import cloud.xcan.angus.core.gm.infra.event.EventPushRetryPolicy;
+import cloud.xcan.angus.core.gm.infra.event.RobotRateLimiter;
+import cloud.xcan.angus.core.gm.infra.remote.push.PushHttpTransport;
+import cloud.xcan.angus.lettucex.util.RedisService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.HashMap;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 @Configuration
+@EnableConfigurationProperties({EventPushProperties.class, EventIngestionProperties.class})
 public class EventConfig {
 
   @Bean("pushServiceMap")
@@ -22,13 +38,49 @@ public class EventConfig {
   }
 
   @Bean
-  public EventTemplateCache getEventTemplateCache() {
-    return new EventTemplateCache();
+  public EventTemplateCache getEventTemplateCache(CacheInvalidationBus cacheInvalidationBus) {
+    return new EventTemplateCache(cacheInvalidationBus);
+  }
+
+  @Bean
+  public EventChannelCache getEventChannelCache(CacheInvalidationBus cacheInvalidationBus) {
+    return new EventChannelCache(cacheInvalidationBus);
+  }
+
+  @Bean
+  public EventPushDispatcher eventPushDispatcher(EventPushCmd eventPushCmd,
+      EventPushProperties eventPushProperties) {
+    return new EventPushDispatcher(eventPushCmd, eventPushProperties);
+  }
+
+  @Bean
+  public EventPushRetryPolicy eventPushRetryPolicy(EventPushProperties eventPushProperties) {
+    return new EventPushRetryPolicy(eventPushProperties);
+  }
+
+  @Bean
+  public RobotRateLimiter robotRateLimiter(EventPushProperties eventPushProperties) {
+    return new RobotRateLimiter(eventPushProperties.getRobotRateLimitPerMinute());
+  }
+
+  @Bean
+  public PushHttpTransport pushHttpTransport(ObjectMapper objectMapper,
+      EventPushProperties eventPushProperties) {
+    return new PushHttpTransport(objectMapper, eventPushProperties);
+  }
+
+  @Bean
+  public EventIngestionBuffer eventIngestionBuffer(EventIngestionProperties eventIngestionProperties,
+      ObjectMapper objectMapper, EventCmd eventCmd) {
+    return new EventIngestionBuffer(eventIngestionProperties, objectMapper,
+        eventContents -> eventCmd.add0(toAddDomain(eventContents)));
   }
 
   @Bean
-  public EventChannelCache getEventChannelCache() {
-    return new EventChannelCache();
+  public EventDuplicateFilter eventDuplicateFilter(StringRedisTemplate stringRedisTemplate,
+      RedisService<String> stringRedisService,
+      @Value("${xcan.event.duplicateLocalFilterSeconds:5}") long localFilterSeconds) {
+    return new EventDuplicateFilter(stringRedisTemplate, stringRedisService, localFilterSeconds);
   }
 
 }
@@ -0,0 +1,58 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+@ConfigurationProperties(prefix = "xcan.event.ingestion", ignoreUnknownFields = false)
+public class EventIngestionProperties {
+
+  /**
+   * Whether submitted events are accepted into a local buffer and stored in the background, when
+   * disabled they are stored within the submitting request.
+   */
+  private boolean bufferedEnabled = false;
+
+  /**
+   * Maximum number of buffered events, requests are stored synchronously while the buffer is
+   * full.
+   */
+  private int capacity = 20000;
+
+  /**
+   * Number of events stored per batch insert.
+   */
+  private int batchSize = 500;
+
+  /**
+   * Maximum milliseconds an accepted event waits for its batch to fill.
+   */
+  private long lingerMillis = 200;
+
+  /**
+   * Directory of the spill files keeping accepted events that are not stored yet, they are
+   * stored again periodically and after a restart. Each instance spills into its own locked
+   * subdirectory, so instances of a host may share the directory.
+   */
+  private String spillDir = System.getProperty("java.io.tmpdir") + "/angus-gm/event-ingestion";
+
+  /**
+   * Whether to force every accepted request to disk before acknowledging it.
+   */
+  private boolean spillFsync = false;
+
+  /**
+   * Seconds between attempts to store again the spill files whose events failed to be stored.
+   */
+  private long spillRetrySeconds = 30;
+
+  /**
+   * Maximum seconds to store buffered events when the application is shutting down.
+   */
+  private int shutdownTimeoutSeconds = 30;
+
+}
@@ -0,0 +1,136 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+@ConfigurationProperties(prefix = "xcan.event.push", ignoreUnknownFields = false)
+public class EventPushProperties {
+
+  /**
+   * Whether to fan pending pushes out to per-channel worker pools, when disabled the pushes are
+   * sent one by one in the job thread.
+   */
+  private boolean concurrentEnabled = true;
+
+  /**
+   * Maximum number of concurrent pushes of a channel type without explicit configuration.
+   */
+  private int defaultConcurrency = 8;
+
+  /**
+   * Maximum number of concurrent pushes per channel type, overrides defaultConcurrency.
+   */
+  private Map<ReceiveChannelType, Integer> channelConcurrency = new EnumMap<>(
+      ReceiveChannelType.class);
+
+  /**
+   * Maximum number of concurrent pushes to the same target host within a channel type.
+   */
+  private int hostConcurrency = 2;
+
+  /**
+   * Maximum seconds to wait for in-flight pushes when the application is shutting down.
+   */
+  private int shutdownTimeoutSeconds = 30;
+
+  /**
+   * Delay before the first retry of a failed push, doubled for each following retry.
+   */
+  private long retryBaseDelaySeconds = 30;
+
+  /**
+   * Upper limit of the delay between two retries.
+   */
+  private long retryMaxDelaySeconds = 3600;
+
+  /**
+   * Random ratio applied to the retry delay, spreads the retries of pushes that failed together.
+   */
+  private double retryJitterRatio = 0.2;
+
+  /**
+   * Maximum number of retries after the first push without explicit configuration.
+   */
+  private int defaultMaxRetryTimes = 8;
+
+  /**
+   * Maximum number of retries per channel type, overrides defaultMaxRetryTimes.
+   */
+  private Map<ReceiveChannelType, Integer> channelMaxRetryTimes = new EnumMap<>(
+      ReceiveChannelType.class);
+
+  /**
+   * Milliseconds to wait for a connection to a push target.
+   */
+  private int httpConnectTimeoutMillis = 3000;
+
+  /**
+   * Milliseconds to wait for the response of a push target.
+   */
+  private int httpReadTimeoutMillis = 10000;
+
+  /**
+   * Maximum number of idle keep-alive connections shared by all push targets.
+   */
+  private int httpMaxIdleConnections = 64;
+
+  /**
+   * Seconds to keep an idle connection to a push target alive.
+   */
+  private int httpKeepAliveSeconds = 300;
+
+  /**
+   * Number of consecutive failures after which pushes to an endpoint are short-circuited.
+   */
+  private int circuitFailureThreshold = 5;
+
+  /**
+   * Seconds to short-circuit a failing endpoint before one trial push is let through.
+   */
+  private int circuitOpenSeconds = 60;
+
+  /**
+   * Maximum number of endpoints whose failures are tracked.
+   */
+  private int circuitMaxEndpoints = 10000;
+
+  /**
+   * Maximum number of pushes per minute to one DingTalk or WeChat robot on this instance, pushes
+   * over the limit are deferred without counting as a retry, no limit when 0.
+   */
+  private int robotRateLimitPerMinute = 20;
+
+  /**
+   * Whether to merge the due pushes of a batch to the same robot into one markdown digest.
+   */
+  private boolean robotCoalesceEnabled = false;
+
+  /**
+   * Maximum number of events merged into one robot digest.
+   */
+  private int robotCoalesceMaxEvents = 10;
+
+  /**
+   * Maximum UTF-8 content bytes of a robot digest, WeChat robots accept at most 4096 bytes.
+   */
+  private int robotCoalesceMaxBytes = 4096;
+
+  public int getConcurrency(ReceiveChannelType channelType) {
+    Integer concurrency = channelConcurrency.get(channelType);
+    return concurrency != null && concurrency > 0 ? concurrency : Math.max(1, defaultConcurrency);
+  }
+
+  public int getMaxRetryTimes(ReceiveChannelType channelType) {
+    Integer maxRetryTimes = channelMaxRetryTimes.get(channelType);
+    return maxRetryTimes != null && maxRetryTimes >= 0 ? maxRetryTimes : defaultMaxRetryTimes;
+  }
+
+}
@@ -7,26 +7,64 @@ import java.util.concurrent.TimeUnit;
 
 public class EventTemplateCache {
 
+  public static final String CACHE_NAME = "eventTemplate";
+
   private final Cache<String, EventTemplate> eventTemplatesCache;
 
-  public EventTemplateCache() {
+  /**
+   * Event codes without template, cached shortly so that unconfigured codes do not hit the
+   * database for every event.
+   */
+  private final Cache<String, Boolean> notFoundCache;
+
+  private final CacheInvalidationBus invalidationBus;
+
+  public EventTemplateCache(CacheInvalidationBus invalidationBus) {
+    this.invalidationBus = invalidationBus;
     this.eventTemplatesCache = CacheBuilder.newBuilder()
-        .maximumSize(64)
+        .maximumSize(1024)
         .expireAfterWrite(1, TimeUnit.DAYS)
         .expireAfterAccess(5, TimeUnit.MINUTES)
         .build();
+    this.notFoundCache = CacheBuilder.newBuilder()
+        .maximumSize(4096)
+        .expireAfterWrite(1, TimeUnit.MINUTES)
+        .build();
+    invalidationBus.register(CACHE_NAME, this::evictLocal);
   }
 
   public void cacheEventTemplate(EventTemplate template) {
     this.eventTemplatesCache.put(template.getEventCode(), template);
+    this.notFoundCache.invalidate(template.getEventCode());
   }
 
   public EventTemplate getEventTemplate(String eventCode) {
     return this.eventTemplatesCache.getIfPresent(eventCode);
   }
 
+  public void cacheNotFound(String eventCode) {
+    this.notFoundCache.put(eventCode, Boolean.TRUE);
+  }
+
+  public boolean isNotFound(String eventCode) {
+    return this.notFoundCache.getIfPresent(eventCode) != null;
+  }
+
+  /**
+   * Evicts the event code on all GM instances.
+   */
   public void clearEventTemplates(String eventCode) {
+    this.invalidationBus.invalidate(CACHE_NAME, eventCode);
+  }
+
+  private void evictLocal(String eventCode) {
+    if (CacheInvalidationBus.ALL_KEYS.equals(eventCode)) {
+      this.eventTemplatesCache.invalidateAll();
+      this.notFoundCache.invalidateAll();
+      return;
+    }
     this.eventTemplatesCache.invalidate(eventCode);
+    this.notFoundCache.invalidate(eventCode);
   }
 
 }
@@ -0,0 +1,20 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import cloud.xcan.angus.core.gm.infra.job.JobPartitionTemplate;
+import cloud.xcan.angus.core.job.JobTemplate;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+@EnableConfigurationProperties({JobPartitionProperties.class})
+public class JobPartitionConfig {
+
+  @Bean
+  public JobPartitionTemplate jobPartitionTemplate(JobTemplate jobTemplate,
+      StringRedisTemplate stringRedisTemplate, JobPartitionProperties jobPartitionProperties) {
+    return new JobPartitionTemplate(jobTemplate, stringRedisTemplate, jobPartitionProperties);
+  }
+
+}
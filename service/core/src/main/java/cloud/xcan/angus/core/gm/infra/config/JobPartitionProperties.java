@@ -0,0 +1,31 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+@ConfigurationProperties(prefix = "xcan.job.partition", ignoreUnknownFields = false)
+public class JobPartitionProperties {
+
+  /**
+   * Whether send jobs split their backlog into partitions processed by all live instances, when
+   * disabled the whole backlog is processed by the single instance holding the job lock.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Number of partitions, should be greater than the number of instances to balance the load.
+   */
+  private int partitions = 16;
+
+  /**
+   * Seconds after which an instance without heartbeat is considered dead, its partitions are
+   * taken over by the remaining instances.
+   */
+  private int leaseSeconds = 30;
+
+}
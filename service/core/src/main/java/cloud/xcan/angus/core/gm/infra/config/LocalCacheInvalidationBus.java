@@ -0,0 +1,55 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process invalidation bus for single node deployment, also the base of the distributed bus.
+ */
+@Slf4j
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+  private final Map<String, Consumer<String>> evictors = new ConcurrentHashMap<>();
+
+  @Override
+  public void register(String cacheName, Consumer<String> evictor) {
+    evictors.put(cacheName, evictor);
+  }
+
+  @Override
+  public void invalidate(String cacheName, String key) {
+    evictLocal(cacheName, key);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // Evict again after commit, other threads may have reloaded the uncommitted old value
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evictLocal(cacheName, key);
+          publish(cacheName, key);
+        }
+      });
+    } else {
+      publish(cacheName, key);
+    }
+  }
+
+  /**
+   * Notifies other nodes, nothing to do in single node deployment.
+   */
+  protected void publish(String cacheName, String key) {
+  }
+
+  protected void evictLocal(String cacheName, String key) {
+    Consumer<String> evictor = evictors.get(cacheName);
+    if (evictor == null) {
+      log.warn("Local cache {} is not registered, ignore invalidation of key {}", cacheName, key);
+      return;
+    }
+    evictor.accept(key);
+  }
+
+}
@@ -0,0 +1,47 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+@ConfigurationProperties(prefix = "xcan.message-center", ignoreUnknownFields = false)
+public class MessageCenterProperties {
+
+  /**
+   * Maximum milliseconds a single send to a WebSocket session may take, the session is closed
+   * when exceeded.
+   */
+  private int sendTimeLimitMillis = 10 * 1000;
+
+  /**
+   * Maximum bytes buffered for a WebSocket session while a send is in progress, the session is
+   * closed when exceeded.
+   */
+  private int sendBufferSizeLimit = 512 * 1024;
+
+  /**
+   * Maximum notification frames queued for one session, further notifications to the session
+   * are dropped until the queue drains.
+   */
+  private int maxPendingPerSession = 500;
+
+  /**
+   * Notification frames queued longer than this are dropped instead of sent, not dropped when 0.
+   */
+  private long staleNoticeMillis = 60 * 1000;
+
+  /**
+   * Number of threads writing frames to the sessions of this node.
+   */
+  private int outboundPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+  /**
+   * Maximum frames queued for all sessions of this node.
+   */
+  private int outboundQueueCapacity = 100000;
+
+}
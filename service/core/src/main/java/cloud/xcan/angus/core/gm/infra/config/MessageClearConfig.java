@@ -0,0 +1,10 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({MessageClearProperties.class})
+public class MessageClearConfig {
+
+}
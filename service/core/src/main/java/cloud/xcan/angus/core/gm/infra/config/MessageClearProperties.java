@@ -0,0 +1,35 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Setter
+@Getter
+@Accessors(chain = true)
+@ConfigurationProperties(prefix = "xcan.job.message-clear", ignoreUnknownFields = false)
+public class MessageClearProperties {
+
+  /**
+   * Number of newest messages reserved for each user.
+   */
+  private int reservedNum = 200;
+
+  /**
+   * Number of users with messages over the reserved number selected per query.
+   */
+  private int userBatchSize = 200;
+
+  /**
+   * Maximum number of messages deleted in one transaction.
+   */
+  private int deleteBatchSize = 2000;
+
+  /**
+   * Maximum number of messages deleted per second to limit the load on the database and
+   * replicas, not limited when 0.
+   */
+  private int rowsPerSecond = 5000;
+
+}
@@ -0,0 +1,53 @@
+package cloud.xcan.angus.core.gm.infra.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Invalidation bus that broadcasts evictions to all GM instances with Redis pub/sub.
+ *
+ * <p>Each instance ignores its own messages, the local eviction has already been done by
+ * {@link #invalidate(String, String)}. When publishing fails the other instances keep their
+ * entries until the cache expiration.</p>
+ */
+@Slf4j
+public class RedisCacheInvalidationBus extends LocalCacheInvalidationBus implements
+    MessageListener {
+
+  public static final String INVALIDATION_CHANNEL = "gm:cache:invalidation";
+
+  private static final String SEPARATOR = "\n";
+
+  private final String instanceId = UUID.randomUUID().toString();
+  private final StringRedisTemplate stringRedisTemplate;
+
+  public RedisCacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+    this.stringRedisTemplate = stringRedisTemplate;
+  }
+
+  @Override
+  protected void publish(String cacheName, String key) {
+    try {
+      stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+          instanceId + SEPARATOR + cacheName + SEPARATOR + key);
+    } catch (Exception e) {
+      log.error("Publish invalidation of local cache {} key {} exception: {}", cacheName, key,
+          e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8)
+        .split(SEPARATOR, 3);
+    if (parts.length != 3 || instanceId.equals(parts[0])) {
+      return;
+    }
+    evictLocal(parts[1], parts[2]);
+  }
+
+}
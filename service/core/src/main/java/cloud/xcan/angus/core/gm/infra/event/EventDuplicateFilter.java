@@ -0,0 +1,179 @@
+package cloud.xcan.angus.core.gm.infra.event;
+
+import static cloud.xcan.angus.api.commonlink.EventConstant.EVENT_DUPLICATE_KEY_EXPIRE;
+import static cloud.xcan.angus.api.commonlink.EventConstant.EVENT_DUPLICATE_REDIS_KEY;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+import static java.util.Objects.nonNull;
+
+import cloud.xcan.angus.core.gm.domain.event.Event;
+import cloud.xcan.angus.lettucex.util.RedisService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * Filters duplicated events by their duplicate keys before they are stored.
+ *
+ * <p>All keys of a batch are checked and locked in Redis with one Lua script call, a key is
+ * accepted only when it was absent. Keys seen on this node within the last few seconds are
+ * rejected locally without calling Redis, which is safe as long as the local window is shorter
+ * than the Redis key expiration.</p>
+ */
+@Slf4j
+public class EventDuplicateFilter {
+
+  private static final String SET_IF_ABSENT_SCRIPT = """
+      local accepted = {}
+      for i, key in ipairs(KEYS) do
+        if redis.call('SET', key, ARGV[1], 'NX', 'EX', ARGV[2]) then
+          accepted[#accepted + 1] = i
+        end
+      end
+      return accepted
+      """;
+
+  private final DefaultRedisScript<List> setIfAbsentScript
+      = new DefaultRedisScript<>(SET_IF_ABSENT_SCRIPT, List.class);
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final RedisService<String> stringRedisService;
+  private final Cache<String, Boolean> recentKeys;
+
+  /**
+   * @param localFilterSeconds Seconds to remember keys on this node, no local filtering when 0
+   */
+  public EventDuplicateFilter(StringRedisTemplate stringRedisTemplate,
+      RedisService<String> stringRedisService, long localFilterSeconds) {
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.stringRedisService = stringRedisService;
+    this.recentKeys = localFilterSeconds > 0 ? CacheBuilder.newBuilder()
+        .maximumSize(100_000)
+        .expireAfterWrite(Math.min(localFilterSeconds,
+            TimeUnit.MINUTES.toSeconds(EVENT_DUPLICATE_KEY_EXPIRE)), TimeUnit.SECONDS)
+        .build() : null;
+  }
+
+  /**
+   * Returns the events not reported within the duplicate window, events without duplicate key
+   * are dropped.
+   */
+  public List<Event> filter(List<Event> events) {
+    Map<String, List<Event>> keyEvents = new LinkedHashMap<>();
+    for (Event event : events) {
+      String duplicateKey = event.getDuplicateKey();
+      if (nonNull(duplicateKey)) {
+        String key = EVENT_DUPLICATE_REDIS_KEY + duplicateKey;
+        if (nonNull(recentKeys) && nonNull(recentKeys.getIfPresent(key))) {
+          logDuplicated(event);
+          continue;
+        }
+        keyEvents.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+      }
+    }
+    if (keyEvents.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    Set<String> acceptedKeys = setIfAbsent(new ArrayList<>(keyEvents.keySet()));
+    List<Event> acceptedEvents = new ArrayList<>(acceptedKeys.size());
+    for (Map.Entry<String, List<Event>> entry : keyEvents.entrySet()) {
+      List<Event> sameKeyEvents = entry.getValue();
+      if (acceptedKeys.contains(entry.getKey())) {
+        // Only the first event of the same key in the batch is accepted
+        acceptedEvents.add(sameKeyEvents.get(0));
+        sameKeyEvents.stream().skip(1).forEach(this::logDuplicated);
+      } else {
+        sameKeyEvents.forEach(this::logDuplicated);
+      }
+      if (nonNull(recentKeys)) {
+        recentKeys.put(entry.getKey(), Boolean.TRUE);
+      }
+    }
+    return acceptedEvents;
+  }
+
+  /**
+   * Releases the keys of accepted events that failed to be stored, so they are accepted again
+   * when they are stored again, e.g. from a spill file.
+   */
+  public void release(List<Event> events) {
+    List<String> keys = new ArrayList<>();
+    for (Event event : events) {
+      if (nonNull(event.getDuplicateKey())) {
+        String key = EVENT_DUPLICATE_REDIS_KEY + event.getDuplicateKey();
+        keys.add(key);
+        if (nonNull(recentKeys)) {
+          recentKeys.invalidate(key);
+        }
+      }
+    }
+    if (keys.isEmpty()) {
+      return;
+    }
+    try {
+      stringRedisTemplate.delete(keys);
+    } catch (Exception e) {
+      // Expire by themselves
+      log.warn("Release duplicate event keys exception: {}", e.getMessage());
+    }
+  }
+
+  private Set<String> setIfAbsent(List<String> keys) {
+    String value = LocalDateTime.now().format(ISO_LOCAL_DATE_TIME);
+    Set<String> acceptedKeys = new HashSet<>();
+    try {
+      List<?> acceptedIndexes = stringRedisTemplate.execute(setIfAbsentScript, keys, value,
+          String.valueOf(TimeUnit.MINUTES.toSeconds(EVENT_DUPLICATE_KEY_EXPIRE)));
+      if (nonNull(acceptedIndexes)) {
+        for (Object index : acceptedIndexes) {
+          // Lua arrays are 1-based
+          acceptedKeys.add(keys.get(((Number) index).intValue() - 1));
+        }
+      }
+      return acceptedKeys;
+    } catch (Exception e) {
+      if (!isCrossSlot(e)) {
+        // The script may have set part of the keys before failing, so a retry would reject the
+        // batch as its own duplicate, accept the batch instead of losing events
+        log.warn("Batch set duplicate event keys exception, accept the batch: {}",
+            e.getMessage());
+        return new HashSet<>(keys);
+      }
+      // Keys in different slots of a Redis cluster are rejected before the script runs, fall
+      // back to one call per key
+      log.warn("Batch set duplicate event keys in different slots, fall back to single key");
+    }
+    for (String key : keys) {
+      if (Boolean.TRUE.equals(stringRedisService
+          .setIfAbsent(key, value, EVENT_DUPLICATE_KEY_EXPIRE, TimeUnit.MINUTES))) {
+        acceptedKeys.add(key);
+      }
+    }
+    return acceptedKeys;
+  }
+
+  private static boolean isCrossSlot(Throwable e) {
+    for (Throwable cause = e; nonNull(cause); cause = cause.getCause()) {
+      if (nonNull(cause.getMessage()) && cause.getMessage().contains("CROSSSLOT")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void logDuplicated(Event event) {
+    log.info("Delete duplicated event within {} minutes, event: {}",
+        EVENT_DUPLICATE_KEY_EXPIRE, event);
+  }
+
+}
@@ -0,0 +1,407 @@
+package cloud.xcan.angus.core.gm.infra.event;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import cloud.xcan.angus.core.event.source.EventContent;
+import cloud.xcan.angus.core.gm.infra.config.EventIngestionProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Buffers submitted events and stores them with group commits in the background.
+ *
+ * <p>An accepted request is appended to the current spill file and to a bounded in-memory buffer
+ * under one lock. The writer thread takes the whole buffer together with a spill file rollover,
+ * stores the events in batches and then deletes the rolled spill file, so every spill file holds
+ * exactly the events not yet stored. Spill files of a failed store are stored again every
+ * {@link EventIngestionProperties#getSpillRetrySeconds()} and those left by a crash on the next
+ * start, duplicates are mostly dropped by the event duplicate filter, which releases the keys of
+ * the events failing to be stored.</p>
+ *
+ * <p>The spill directory may be shared by the instances of a host, each instance spills into its
+ * own subdirectory and holds an exclusive file lock on it while running. On start, an instance
+ * takes over the spill files of subdirectories that are not locked, i.e. left by an instance that
+ * is not running anymore.</p>
+ *
+ * <p>When buffering is disabled, the buffer is full or the spill file cannot be written,
+ * {@link #offer(List)} returns false and the caller stores the events itself.</p>
+ */
+@Slf4j
+public class EventIngestionBuffer implements InitializingBean, DisposableBean {
+
+  private static final String SEGMENT_PREFIX = "events-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String INSTANCE_DIR_PREFIX = "instance-";
+  private static final String LOCK_FILE = ".lock";
+
+  private final EventIngestionProperties properties;
+  private final ObjectMapper objectMapper;
+  private final Consumer<List<EventContent>> eventWriter;
+
+  private final Object lock = new Object();
+  private final ArrayDeque<EventContent> buffer;
+  private final List<Path> recoveredSegments = new ArrayList<>();
+  /**
+   * Spill files whose events failed to be stored, accessed by the writer thread only.
+   */
+  private final List<Path> keptSegments = new ArrayList<>();
+  private long nextRetryMillis;
+  private Path spillDir;
+  private FileChannel spillDirLock;
+  private Path segmentPath;
+  private FileChannel segment;
+  private long segmentSeq;
+  private Thread writerThread;
+  private volatile boolean running;
+
+  /**
+   * @param eventWriter Stores a batch of events
+   */
+  public EventIngestionBuffer(EventIngestionProperties properties, ObjectMapper objectMapper,
+      Consumer<List<EventContent>> eventWriter) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.eventWriter = eventWriter;
+    this.buffer = new ArrayDeque<>(Math.max(16, properties.getCapacity()));
+  }
+
+  @Override
+  public void afterPropertiesSet() throws IOException {
+    if (!properties.isBufferedEnabled()) {
+      return;
+    }
+    Path baseDir = Files.createDirectories(Paths.get(properties.getSpillDir()));
+    spillDir = Files.createTempDirectory(baseDir, INSTANCE_DIR_PREFIX);
+    spillDirLock = FileChannel.open(spillDir.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE);
+    // Held until shutdown, released by the OS when the process dies
+    spillDirLock.lock();
+    takeOverSegments(baseDir);
+    recoveredSegments.sort(null);
+    synchronized (lock) {
+      openSegment();
+    }
+
+    running = true;
+    writerThread = new Thread(this::runWriter, "event-ingestion-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Moves the spill files left by instances that are not running anymore into the own directory,
+   * they are stored by the writer thread.
+   */
+  private void takeOverSegments(Path baseDir) throws IOException {
+    // Spill files of versions writing into the base directory directly
+    moveSegments(baseDir);
+    try (DirectoryStream<Path> instanceDirs = Files.newDirectoryStream(baseDir,
+        INSTANCE_DIR_PREFIX + "*")) {
+      for (Path instanceDir : instanceDirs) {
+        if (instanceDir.equals(spillDir) || !Files.isDirectory(instanceDir)) {
+          continue;
+        }
+        try (FileChannel channel = FileChannel.open(instanceDir.resolve(LOCK_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock instanceLock = channel.tryLock()) {
+          if (instanceLock == null) {
+            // Spill directory of a running instance
+            continue;
+          }
+          moveSegments(instanceDir);
+          Files.delete(instanceDir.resolve(LOCK_FILE));
+        } catch (IOException | OverlappingFileLockException e) {
+          log.warn("Take over event spill files of {} exception: {}", instanceDir,
+              e.getMessage());
+          continue;
+        }
+        deleteEmptyDir(instanceDir);
+      }
+    }
+  }
+
+  private void moveSegments(Path dir) throws IOException {
+    try (DirectoryStream<Path> segments = Files.newDirectoryStream(dir,
+        SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      for (Path segment : segments) {
+        Path target = spillDir.resolve(segment.getFileName());
+        try {
+          Files.move(segment, target, StandardCopyOption.ATOMIC_MOVE);
+          recoveredSegments.add(target);
+        } catch (NoSuchFileException e) {
+          // Taken over by another instance starting at the same time
+        }
+      }
+    }
+  }
+
+  private static void deleteEmptyDir(Path dir) {
+    try {
+      Files.deleteIfExists(dir);
+    } catch (IOException e) {
+      // Not empty, e.g. spill files kept for a retry, taken over by the next start
+      log.debug("Delete event spill directory {} skipped: {}", dir, e.getMessage());
+    }
+  }
+
+  /**
+   * Accepts the events for background storing.
+   *
+   * @return false when the events were not accepted and must be stored by the caller
+   */
+  public boolean offer(List<EventContent> eventContents) {
+    if (!running) {
+      return false;
+    }
+    byte[] line;
+    try {
+      line = (objectMapper.writeValueAsString(eventContents) + "\n").getBytes(UTF_8);
+    } catch (IOException e) {
+      log.warn("Serialize events to spill exception: {}", e.getMessage());
+      return false;
+    }
+    synchronized (lock) {
+      if (buffer.size() + eventContents.size() > properties.getCapacity()) {
+        return false;
+      }
+      if (segment == null) {
+        // The spill directory was not writable at the last rollover
+        openSegment();
+        if (segment == null) {
+          return false;
+        }
+      }
+      try {
+        ByteBuffer bytes = ByteBuffer.wrap(line);
+        while (bytes.hasRemaining()) {
+          segment.write(bytes);
+        }
+        if (properties.isSpillFsync()) {
+          segment.force(false);
+        }
+      } catch (IOException e) {
+        log.warn("Spill events exception, store them synchronously: {}", e.getMessage());
+        return false;
+      }
+      boolean wasEmpty = buffer.isEmpty();
+      buffer.addAll(eventContents);
+      if (wasEmpty || buffer.size() >= properties.getBatchSize()) {
+        lock.notifyAll();
+      }
+    }
+    return true;
+  }
+
+  private void runWriter() {
+    keptSegments.addAll(recoveredSegments);
+    recoveredSegments.clear();
+    retryKeptSegments();
+
+    long retryMillis = TimeUnit.SECONDS.toMillis(Math.max(1, properties.getSpillRetrySeconds()));
+    while (running) {
+      if (!keptSegments.isEmpty() && System.currentTimeMillis() >= nextRetryMillis) {
+        retryKeptSegments();
+      }
+      List<EventContent> pending;
+      Path rolledSegment;
+      synchronized (lock) {
+        try {
+          while (running && buffer.isEmpty()) {
+            if (keptSegments.isEmpty()) {
+              lock.wait();
+            } else {
+              long waitMillis = nextRetryMillis - System.currentTimeMillis();
+              if (waitMillis <= 0) {
+                break;
+              }
+              lock.wait(waitMillis);
+            }
+          }
+          if (running && buffer.size() < properties.getBatchSize()) {
+            lock.wait(Math.max(1, properties.getLingerMillis()));
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+        if (buffer.isEmpty()) {
+          continue;
+        }
+        pending = new ArrayList<>(buffer);
+        buffer.clear();
+        rolledSegment = rollSegment();
+      }
+      if (!store(pending, rolledSegment) && rolledSegment != null) {
+        keptSegments.add(rolledSegment);
+        nextRetryMillis = Math.max(nextRetryMillis, System.currentTimeMillis() + retryMillis);
+      }
+    }
+  }
+
+  private void retryKeptSegments() {
+    List<Path> segments = new ArrayList<>(keptSegments);
+    keptSegments.clear();
+    for (Path keptSegment : segments) {
+      if (!recover(keptSegment)) {
+        keptSegments.add(keptSegment);
+      }
+    }
+    nextRetryMillis = System.currentTimeMillis()
+        + TimeUnit.SECONDS.toMillis(Math.max(1, properties.getSpillRetrySeconds()));
+  }
+
+  /**
+   * @return false when the events failed to be stored and the spill file is kept
+   */
+  private boolean store(List<EventContent> eventContents, Path storedSegment) {
+    int batchSize = Math.max(1, properties.getBatchSize());
+    try {
+      for (int i = 0; i < eventContents.size(); i += batchSize) {
+        eventWriter.accept(eventContents.subList(i,
+            Math.min(i + batchSize, eventContents.size())));
+      }
+    } catch (Exception e) {
+      // Keep the spill file, its events are stored again by the next retry
+      log.error("Store buffered events exception: ", e);
+      return false;
+    }
+    deleteSegment(storedSegment);
+    return true;
+  }
+
+  /**
+   * @return false when the spill file is kept for a later retry
+   */
+  private boolean recover(Path recoveredSegment) {
+    List<EventContent> eventContents = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(recoveredSegment, UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        try {
+          eventContents.addAll(objectMapper.readValue(line,
+              new TypeReference<List<EventContent>>() {}));
+        } catch (IOException e) {
+          // E.g. the last line written at a crash
+          log.warn("Skip corrupted event spill line in {}: {}", recoveredSegment, e.getMessage());
+        }
+      }
+    } catch (NoSuchFileException e) {
+      return true;
+    } catch (IOException e) {
+      log.error("Read event spill file {} exception: ", recoveredSegment, e);
+      return false;
+    }
+    log.info("Recover {} buffered events from {}", eventContents.size(), recoveredSegment);
+    return store(eventContents, recoveredSegment);
+  }
+
+  /**
+   * Closes the current spill file and opens a new one, must be called holding the lock.
+   *
+   * @return The closed spill file, or null when there was none
+   */
+  private Path rollSegment() {
+    Path rolledSegment = segmentPath;
+    closeSegment();
+    openSegment();
+    return rolledSegment;
+  }
+
+  private void openSegment() {
+    Path path = spillDir.resolve(String.format("%s%d-%06d%s", SEGMENT_PREFIX,
+        System.currentTimeMillis(), segmentSeq++, SEGMENT_SUFFIX));
+    try {
+      segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.APPEND);
+      segmentPath = path;
+    } catch (IOException e) {
+      // Requests are stored synchronously until the next rollover succeeds
+      log.error("Open event spill file {} exception: ", path, e);
+      segment = null;
+      segmentPath = null;
+    }
+  }
+
+  private void closeSegment() {
+    if (segment == null) {
+      return;
+    }
+    try {
+      segment.force(false);
+      segment.close();
+    } catch (IOException e) {
+      log.warn("Close event spill file {} exception: {}", segmentPath, e.getMessage());
+    }
+    segment = null;
+    segmentPath = null;
+  }
+
+  private void deleteSegment(Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Delete event spill file {} exception: {}", path, e.getMessage());
+    }
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    if (!running) {
+      return;
+    }
+    synchronized (lock) {
+      running = false;
+      lock.notifyAll();
+    }
+    writerThread.join(TimeUnit.SECONDS.toMillis(properties.getShutdownTimeoutSeconds()));
+
+    List<EventContent> pending;
+    Path rolledSegment;
+    synchronized (lock) {
+      pending = new ArrayList<>(buffer);
+      buffer.clear();
+      rolledSegment = segmentPath;
+      closeSegment();
+    }
+    if (pending.isEmpty()) {
+      deleteSegment(rolledSegment);
+    } else {
+      store(pending, rolledSegment);
+    }
+
+    try {
+      spillDirLock.close();
+      Files.deleteIfExists(spillDir.resolve(LOCK_FILE));
+    } catch (IOException e) {
+      log.warn("Release event spill directory {} exception: {}", spillDir, e.getMessage());
+    }
+    deleteEmptyDir(spillDir);
+  }
+}
@@ -0,0 +1,251 @@
+package cloud.xcan.angus.core.gm.infra.event;
+
+import static cloud.xcan.angus.api.commonlink.EventConstant.MAX_EVENT_RESULT_MSG_LENGTH;
+import static cloud.xcan.angus.spec.utils.ObjectUtils.isEmpty;
+import static cloud.xcan.angus.spec.utils.ObjectUtils.lengthSafe;
+
+import cloud.xcan.angus.core.gm.application.cmd.event.EventPushCmd;
+import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
+import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
+import cloud.xcan.angus.core.gm.infra.config.EventPushProperties;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Dispatches a batch of pending event pushes to bounded worker pools.
+ *
+ * <p>Each {@link ReceiveChannelType} owns its own pool, so a slow webhook does not hold back
+ * DingTalk or WeChat pushes. Within a channel, pushes to the same target host are drained by at
+ * most {@link EventPushProperties#getHostConcurrency()} workers, so one stuck endpoint cannot
+ * occupy the whole channel pool. DingTalk and WeChat pushes are grouped by robot address instead
+ * of host, all robots of a vendor share one API host, and may be merged into digests.</p>
+ *
+ * <p>{@link #dispatch(List)} returns after every push of the batch has been handled, which keeps
+ * the "query pending, send, query again" loop of the send job free of duplicate sends. Push
+ * results are collected in an {@link EventPushResultSink} and persisted once per batch.</p>
+ */
+@Slf4j
+public class EventPushDispatcher implements DisposableBean {
+
+  private final EventPushCmd eventPushCmd;
+  private final EventPushProperties properties;
+  private final Map<ReceiveChannelType, ThreadPoolExecutor> channelExecutors
+      = new EnumMap<>(ReceiveChannelType.class);
+
+  public EventPushDispatcher(EventPushCmd eventPushCmd, EventPushProperties properties) {
+    this.eventPushCmd = eventPushCmd;
+    this.properties = properties;
+    if (properties.isConcurrentEnabled()) {
+      for (ReceiveChannelType channelType : ReceiveChannelType.values()) {
+        int concurrency = properties.getConcurrency(channelType);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new CustomizableThreadFactory("event-push-" + channelType.name().toLowerCase() + "-"));
+        executor.allowCoreThreadTimeOut(true);
+        channelExecutors.put(channelType, executor);
+      }
+    }
+  }
+
+  /**
+   * Sends the pushes and waits until all of them are handled.
+   *
+   * @param eventPushes Pending pushes to send
+   * @return Pushes whose sending threw an exception and whose status was not persisted, with the
+   * exception message as their push message
+   */
+  public List<EventPush> dispatch(List<EventPush> eventPushes) {
+    if (isEmpty(eventPushes)) {
+      return Collections.emptyList();
+    }
+    EventPushResultSink resultSink = new EventPushResultSink(eventPushCmd);
+    if (!properties.isConcurrentEnabled()) {
+      for (EventPush eventPush : eventPushes) {
+        eventPushCmd.pushByJob(eventPush);
+        resultSink.add(eventPush);
+      }
+      resultSink.flush();
+      return Collections.emptyList();
+    }
+
+    // Group by channel and target host, each group is drained by a limited number of workers
+    Map<String, Queue<EventPush>> hostQueues = new LinkedHashMap<>();
+    for (EventPush eventPush : eventPushes) {
+      hostQueues.computeIfAbsent(eventPush.getChannelType().name() + "@"
+              + getTargetKey(eventPush), k -> new ConcurrentLinkedQueue<>())
+          .add(eventPush);
+    }
+
+    Queue<EventPush> failedPushes = new ConcurrentLinkedQueue<>();
+    List<Future<?>> futures = new ArrayList<>();
+    for (Queue<EventPush> hostQueue : hostQueues.values()) {
+      ReceiveChannelType channelType = hostQueue.peek().getChannelType();
+      ExecutorService executor = channelExecutors.get(channelType);
+      if (properties.isRobotCoalesceEnabled() && RobotRateLimiter.isRobotChannel(channelType)) {
+        try {
+          futures.add(executor.submit(() -> drainDigests(hostQueue, resultSink, failedPushes)));
+        } catch (RejectedExecutionException e) {
+          log.warn("Event push dispatcher is shutting down, skip remaining pushes");
+        }
+        continue;
+      }
+      int workers = Math.min(Math.max(1, properties.getHostConcurrency()), hostQueue.size());
+      for (int i = 0; i < workers; i++) {
+        try {
+          futures.add(executor.submit(() -> drain(hostQueue, resultSink, failedPushes)));
+        } catch (RejectedExecutionException e) {
+          // Shutting down, unsent pushes remain pending and are picked up after restart
+          log.warn("Event push dispatcher is shutting down, skip remaining pushes");
+          break;
+        }
+      }
+    }
+    awaitAll(futures, hostQueues.values());
+    resultSink.flush();
+    return new ArrayList<>(failedPushes);
+  }
+
+  private void drain(Queue<EventPush> hostQueue, EventPushResultSink resultSink,
+      Queue<EventPush> failedPushes) {
+    EventPush eventPush;
+    while ((eventPush = hostQueue.poll()) != null) {
+      try {
+        eventPushCmd.pushByJob(eventPush);
+        resultSink.add(eventPush);
+      } catch (Exception e) {
+        log.error("Send event push[id={}] exception: ", eventPush.getId(), e);
+        failedPushes.add(eventPush.setPushMsg(
+            lengthSafe(e.getMessage(), MAX_EVENT_RESULT_MSG_LENGTH)));
+      }
+    }
+  }
+
+  /**
+   * Drains the pushes to one robot as digests limited by event number and content bytes.
+   */
+  private void drainDigests(Queue<EventPush> robotQueue, EventPushResultSink resultSink,
+      Queue<EventPush> failedPushes) {
+    int maxEvents = Math.max(1, properties.getRobotCoalesceMaxEvents());
+    List<EventPush> digest = new ArrayList<>();
+    int digestBytes = 0;
+    EventPush eventPush;
+    while ((eventPush = robotQueue.poll()) != null) {
+      int bytes = getDigestBytes(eventPush);
+      if (!digest.isEmpty() && (digest.size() >= maxEvents
+          || digestBytes + bytes > properties.getRobotCoalesceMaxBytes())) {
+        pushDigest(digest, resultSink, failedPushes);
+        digest = new ArrayList<>();
+        digestBytes = 0;
+      }
+      digest.add(eventPush);
+      digestBytes += bytes;
+    }
+    if (!digest.isEmpty()) {
+      pushDigest(digest, resultSink, failedPushes);
+    }
+  }
+
+  private void pushDigest(List<EventPush> digest, EventPushResultSink resultSink,
+      Queue<EventPush> failedPushes) {
+    try {
+      eventPushCmd.pushDigestByJob(digest);
+      digest.forEach(resultSink::add);
+    } catch (Exception e) {
+      log.error("Send event push digest of {} pushes exception: ", digest.size(), e);
+      for (EventPush eventPush : digest) {
+        failedPushes.add(eventPush.setPushMsg(
+            lengthSafe(e.getMessage(), MAX_EVENT_RESULT_MSG_LENGTH)));
+      }
+    }
+  }
+
+  /**
+   * UTF-8 bytes of the push in a digest, robot limits count bytes and CJK characters take three.
+   */
+  private static int getDigestBytes(EventPush eventPush) {
+    // "#### " + name + "\n\n" + content + "\n\n"
+    return String.valueOf(eventPush.getName()).getBytes(StandardCharsets.UTF_8).length
+        + (eventPush.getContent() == null ? 0
+        : eventPush.getContent().getBytes(StandardCharsets.UTF_8).length) + 9;
+  }
+
+  /**
+   * Waits for all workers of the batch. When interrupted, the unsent pushes are dropped from the
+   * queues and stay pending, but the pushes in flight are still awaited, so no worker records a
+   * result after the batch is flushed.
+   */
+  private void awaitAll(List<Future<?>> futures, Collection<Queue<EventPush>> queues) {
+    boolean interrupted = false;
+    for (Future<?> future : futures) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+          queues.forEach(Queue::clear);
+        } catch (ExecutionException e) {
+          log.error("Event push worker exception: ", e.getCause());
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String getTargetKey(EventPush eventPush) {
+    // Rate limits of robots apply per robot, not per vendor API host
+    return RobotRateLimiter.isRobotChannel(eventPush.getChannelType())
+        ? String.valueOf(eventPush.getAddress()) : getTargetHost(eventPush.getAddress());
+  }
+
+  private static String getTargetHost(String address) {
+    if (isEmpty(address)) {
+      return "";
+    }
+    try {
+      String host = URI.create(address).getHost();
+      return host != null ? host : address;
+    } catch (Exception e) {
+      return address;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    for (ThreadPoolExecutor executor : channelExecutors.values()) {
+      executor.shutdown();
+    }
+    for (ThreadPoolExecutor executor : channelExecutors.values()) {
+      try {
+        if (!executor.awaitTermination(properties.getShutdownTimeoutSeconds(), TimeUnit.SECONDS)) {
+          executor.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        executor.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package cloud.xcan.angus.core.gm.infra.event;
+
+import cloud.xcan.angus.core.gm.application.cmd.event.EventPushCmd;
+import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write-behind buffer of event push results for one dispatched batch.
+ *
+ * <p>Push workers only record their outcomes here, the buffered results are persisted with one
+ * batch update of <code>event_push</code> and one set-based roll-up of <code>event</code> when the
+ * batch is flushed, instead of three statements per push.</p>
+ */
+public class EventPushResultSink {
+
+  private final EventPushCmd eventPushCmd;
+  private final List<EventPush> buffer = new ArrayList<>();
+
+  public EventPushResultSink(EventPushCmd eventPushCmd) {
+    this.eventPushCmd = eventPushCmd;
+  }
+
+  public synchronized void add(EventPush eventPush) {
+    buffer.add(eventPush);
+  }
+
+  public void flush() {
+    List<EventPush> pending;
+    synchronized (this) {
+      if (buffer.isEmpty()) {
+        return;
+      }
+      pending = new ArrayList<>(buffer);
+      buffer.clear();
+    }
+    eventPushCmd.updatePushResults(pending);
+  }
+
+}
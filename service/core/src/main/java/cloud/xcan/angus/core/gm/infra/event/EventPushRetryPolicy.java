@@ -0,0 +1,50 @@
+package cloud.xcan.angus.core.gm.infra.event;
+
+import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
+import cloud.xcan.angus.core.gm.infra.config.EventPushProperties;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Schedules the next attempt of event pushes with exponential backoff and jitter.
+ *
+ * <p>A push is due while its <code>next_retry_at</code> is reached, successful pushes and pushes
+ * that used up the retry budget of their channel type get no next attempt.</p>
+ */
+public class EventPushRetryPolicy {
+
+  private final EventPushProperties properties;
+
+  public EventPushRetryPolicy(EventPushProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Sets the next attempt time of a push whose push status and retry times are updated.
+   */
+  public void scheduleNext(EventPush eventPush) {
+    if (Boolean.TRUE.equals(eventPush.getPush())) {
+      eventPush.setNextRetryAt(null);
+      return;
+    }
+    // The first push is not a retry
+    long retries = eventPush.getRetryTimes() - 1;
+    if (retries >= properties.getMaxRetryTimes(eventPush.getChannelType())) {
+      eventPush.setNextRetryAt(null);
+      return;
+    }
+    eventPush.setNextRetryAt(LocalDateTime.now().plusSeconds(getDelaySeconds(retries)));
+  }
+
+  private long getDelaySeconds(long retries) {
+    long baseDelay = Math.max(1, properties.getRetryBaseDelaySeconds());
+    long maxDelay = Math.max(baseDelay, properties.getRetryMaxDelaySeconds());
+    // Avoid overflow, 2^20 times of base delay is far beyond any reasonable max delay
+    long delay = Math.min(maxDelay, baseDelay << Math.min(retries, 20));
+    double jitterRatio = Math.min(1, Math.max(0, properties.getRetryJitterRatio()));
+    double jitter = jitterRatio > 0
+        ? ThreadLocalRandom.current().nextDouble(-jitterRatio, jitterRatio) : 0;
+    return Math.max(1, Math.round(delay * (1 + jitter)));
+  }
+
+}
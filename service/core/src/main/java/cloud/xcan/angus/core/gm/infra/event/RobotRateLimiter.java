@@ -0,0 +1,72 @@
+package cloud.xcan.angus.core.gm.infra.event;
+
+import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter keyed by robot address.
+ *
+ * <p>DingTalk and WeChat group robots reject messages over their per-robot rate limit, each robot
+ * gets a bucket of <code>permitsPerMinute</code> tokens refilled continuously. The limiter is local
+ * to the instance.</p>
+ */
+public class RobotRateLimiter {
+
+  private final int permitsPerMinute;
+  private final Cache<String, TokenBucket> buckets;
+
+  public RobotRateLimiter(int permitsPerMinute) {
+    this.permitsPerMinute = permitsPerMinute;
+    this.buckets = CacheBuilder.newBuilder()
+        .maximumSize(10_000)
+        // An idle bucket is full again after one minute
+        .expireAfterAccess(1, TimeUnit.MINUTES)
+        .build();
+  }
+
+  public static boolean isRobotChannel(ReceiveChannelType channelType) {
+    return ReceiveChannelType.DINGTALK.equals(channelType)
+        || ReceiveChannelType.WECHAT.equals(channelType);
+  }
+
+  /**
+   * Takes one token of the robot.
+   *
+   * @return 0 when a token was taken, otherwise milliseconds until the next token is available
+   */
+  public long tryAcquire(String robotAddress) {
+    if (permitsPerMinute <= 0) {
+      return 0;
+    }
+    return buckets.asMap().computeIfAbsent(robotAddress, k -> new TokenBucket(permitsPerMinute))
+        .tryAcquire();
+  }
+
+  private static class TokenBucket {
+
+    private final int capacity;
+    private final double tokensPerMilli;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int permitsPerMinute) {
+      this.capacity = permitsPerMinute;
+      this.tokensPerMilli = permitsPerMinute / (double) TimeUnit.MINUTES.toMillis(1);
+      this.tokens = permitsPerMinute;
+      this.refilledAt = System.currentTimeMillis();
+    }
+
+    synchronized long tryAcquire() {
+      long now = System.currentTimeMillis();
+      tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerMilli);
+      refilledAt = now;
+      if (tokens >= 1) {
+        tokens -= 1;
+        return 0;
+      }
+      return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerMilli));
+    }
+  }
+}
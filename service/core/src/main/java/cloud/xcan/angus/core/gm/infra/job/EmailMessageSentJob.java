@@ -6,7 +6,6 @@ import cloud.xcan.angus.core.gm.application.cmd.message.MessageCmd;
 import cloud.xcan.angus.core.gm.application.query.message.MessageQuery;
 import cloud.xcan.angus.core.gm.domain.message.Message;
 import cloud.xcan.angus.core.gm.domain.message.MessageReceiveType;
-import cloud.xcan.angus.core.job.JobTemplate;
 import jakarta.annotation.Resource;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -21,7 +20,7 @@ public class EmailMessageSentJob {
   private static final int COUNT = 200;
 
   @Resource
-  private JobTemplate jobTemplate;
+  private JobPartitionTemplate jobPartitionTemplate;
 
   @Resource
   private MessageQuery messageQuery;
@@ -29,19 +28,36 @@ public class EmailMessageSentJob {
   @Resource
   private MessageCmd messageCmd;
 
-  @Scheduled(fixedDelay = 5 * 1000, initialDelay = 3400)
+  /**
+   * Safety net of {@link MessageTimingScheduler}, e.g. for messages whose send failed.
+   */
+  @Scheduled(fixedDelay = 60 * 1000, initialDelay = 3400)
   public void sentEmailMessage() {
-    jobTemplate.execute(LOCK_KEY, 10, TimeUnit.MINUTES, () -> {
-      List<Message> emailMessages = messageQuery.getPendingMessage(MessageReceiveType.EMAIL, COUNT);
-      while (isNotEmpty(emailMessages)) {
-        for (Message siteMessage : emailMessages) {
-          // Send a message to commit a transaction
-          messageCmd.sentEmailMessage(siteMessage);
-        }
-        emailMessages = emailMessages.size() >= COUNT ?
-            messageQuery.getPendingMessage(MessageReceiveType.SITE, COUNT) : null;
+    jobPartitionTemplate.execute(LOCK_KEY, 10, TimeUnit.MINUTES, this::sentEmailMessage0);
+  }
+
+  /**
+   * Sends the due messages of the partition of the message.
+   *
+   * @return Whether the send ran, false when the partition is being processed
+   */
+  public boolean sentDueEmailMessage(long messageId) {
+    return jobPartitionTemplate.executePartitionOf(LOCK_KEY, messageId, 10, TimeUnit.MINUTES,
+        this::sentEmailMessage0);
+  }
+
+  private void sentEmailMessage0(JobPartition partition) {
+    List<Message> emailMessages = messageQuery.getPendingMessage(MessageReceiveType.EMAIL, COUNT,
+        partition.getCount(), partition.getIndex());
+    while (isNotEmpty(emailMessages)) {
+      for (Message siteMessage : emailMessages) {
+        // Send a message to commit a transaction
+        messageCmd.sentEmailMessage(siteMessage);
       }
-    });
+      emailMessages = emailMessages.size() >= COUNT ?
+          messageQuery.getPendingMessage(MessageReceiveType.EMAIL, COUNT,
+              partition.getCount(), partition.getIndex()) : null;
+    }
   }
 
 }
@@ -6,7 +6,6 @@ import cloud.xcan.angus.api.enums.ProcessStatus;
 import cloud.xcan.angus.core.gm.application.cmd.email.EmailCmd;
 import cloud.xcan.angus.core.gm.application.query.email.EmailQuery;
 import cloud.xcan.angus.core.gm.domain.email.Email;
-import cloud.xcan.angus.core.job.JobTemplate;
 import jakarta.annotation.Resource;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -25,7 +24,7 @@ public class EmailSendJob {
   private final static int COUNT = 100;
 
   @Resource
-  private JobTemplate jobTemplate;
+  private JobPartitionTemplate jobPartitionTemplate;
 
   @Resource
   private EmailQuery emailQuery;
@@ -35,16 +34,18 @@ public class EmailSendJob {
 
   @Scheduled(fixedDelay = 10 * 1000, initialDelay = 1000)
   public void sendTenantScopeEmail() {
-    jobTemplate.execute(TENANT_EMAIL_LOCK_KEY, 60, TimeUnit.MINUTES, () -> {
+    jobPartitionTemplate.execute(TENANT_EMAIL_LOCK_KEY, 60, TimeUnit.MINUTES, partition -> {
       List<Email> emailInPending = null;
       try {
-        emailInPending = emailQuery.findTenantEmailInPending(COUNT);
+        emailInPending = emailQuery.findTenantEmailInPending(COUNT,
+            partition.getCount(), partition.getIndex());
         while (isNotEmpty(emailInPending)) {
-          for (Email email : emailInPending) {
-            emailCmd.sendByJob(email);
-          }
+          emailCmd.sendByJob(emailInPending);
+          // Persist the results of the batch in bulk
+          emailCmd.update0(emailInPending);
           emailInPending = emailInPending.size() >= COUNT
-              ? emailQuery.findTenantEmailInPending(COUNT) : null;
+              ? emailQuery.findTenantEmailInPending(COUNT,
+                  partition.getCount(), partition.getIndex()) : null;
         }
       } catch (Exception e) {
         log.error("SendTenantScopeEmail execute fail: {}", e.getMessage());
@@ -58,16 +59,18 @@ public class EmailSendJob {
 
   @Scheduled(fixedDelay = 15 * 1000, initialDelay = 5000)
   public void sendPlatformScopeEmail() {
-    jobTemplate.execute(PLATFORM_EMAIL_LOCK_KEY, 120, TimeUnit.MINUTES, () -> {
+    jobPartitionTemplate.execute(PLATFORM_EMAIL_LOCK_KEY, 120, TimeUnit.MINUTES, partition -> {
       List<Email> emailInPending = null;
       try {
-        emailInPending = emailQuery.findPlatformEmailInPending(COUNT);
+        emailInPending = emailQuery.findPlatformEmailInPending(COUNT,
+            partition.getCount(), partition.getIndex());
         while (isNotEmpty(emailInPending)) {
-          for (Email email : emailInPending) {
-            emailCmd.sendByJob(email);
-          }
+          emailCmd.sendByJob(emailInPending);
+          // Persist the results of the batch in bulk
+          emailCmd.update0(emailInPending);
           emailInPending = emailInPending.size() >= COUNT
-              ? emailQuery.findTenantEmailInPending(COUNT) : null;
+              ? emailQuery.findPlatformEmailInPending(COUNT,
+                  partition.getCount(), partition.getIndex()) : null;
         }
       } catch (Exception e) {
         log.error("SendPlatformScopeEmail#Execute fail:", e);
@@ -8,9 +8,12 @@ import static cloud.xcan.angus.spec.utils.ObjectUtils.lengthSafe;
 import cloud.xcan.angus.core.gm.application.cmd.event.EventPushCmd;
 import cloud.xcan.angus.core.gm.application.query.event.EventPushQuery;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPush;
-import cloud.xcan.angus.core.job.JobTemplate;
+import cloud.xcan.angus.core.gm.infra.event.EventPushDispatcher;
+import cloud.xcan.angus.core.gm.infra.event.EventPushRetryPolicy;
 import jakarta.annotation.Resource;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -24,10 +27,9 @@ public class EventSendJob {
 
   private static final String LOCK_KEY = "gm:job:EventSendJob";
   private final static int COUNT = 200;
-  private final static int MAX_RETRY_NUM = 2;
 
   @Resource
-  private JobTemplate jobTemplate;
+  private JobPartitionTemplate jobPartitionTemplate;
 
   @Resource
   private EventPushCmd eventPushCmd;
@@ -35,46 +37,61 @@ public class EventSendJob {
   @Resource
   private EventPushQuery eventPushQuery;
 
+  @Resource
+  private EventPushDispatcher eventPushDispatcher;
+
+  @Resource
+  private EventPushRetryPolicy eventPushRetryPolicy;
+
   @Scheduled(fixedDelay = 11 * 1000, initialDelay = 1500)
   public void sendEvent() {
-    jobTemplate.execute(LOCK_KEY, 30, TimeUnit.MINUTES, () -> {
+    jobPartitionTemplate.execute(LOCK_KEY, 30, TimeUnit.MINUTES, partition -> {
       List<EventPush> eventInPending = null;
       try {
-        eventInPending = eventPushQuery.findPushEventInPending(COUNT, MAX_RETRY_NUM);
-        while (isNotEmpty(eventInPending)) {
-          for (EventPush eventPush : eventInPending) {
-            eventPushCmd.sendByJob(eventPush);
+        eventInPending = eventPushQuery.findPushEventInDue(COUNT, partition.getCount(),
+            partition.getIndex());
+        while (isNotEmpty(eventInPending) && !Thread.currentThread().isInterrupted()) {
+          List<EventPush> failedPushes = eventPushDispatcher.dispatch(eventInPending);
+          if (isNotEmpty(failedPushes)) {
+            // Push messages hold the exception of each push
+            updatePushFailStatus(failedPushes);
+            updateEventFailStatus(failedPushes);
           }
           eventInPending = eventInPending.size() >= COUNT
-              ? eventPushQuery.findPushEventInPending(COUNT, MAX_RETRY_NUM) : null;
+              ? eventPushQuery.findPushEventInDue(COUNT, partition.getCount(),
+                  partition.getIndex()) : null;
         }
       } catch (Exception e) {
         log.error("EventSendJob#Execute fail:", e);
         if (isNotEmpty(eventInPending)) {
-          updatePushFailStatus(eventInPending, e);
-          updateEventFailStatus(eventInPending, e);
+          eventInPending.forEach(s -> s.setPushMsg(
+              lengthSafe(e.getMessage(), MAX_EVENT_RESULT_MSG_LENGTH)));
+          updatePushFailStatus(eventInPending);
+          updateEventFailStatus(eventInPending);
         }
       }
     });
   }
 
-  private void updatePushFailStatus(List<EventPush> eventInPending, Exception e) {
+  private void updatePushFailStatus(List<EventPush> eventInPending) {
     try {
       eventPushCmd.update0(eventInPending.stream().peek(
-              s -> s.setPush(false)
-                  .setPushMsg(lengthSafe(e.getMessage(), MAX_EVENT_RESULT_MSG_LENGTH))
-                  .setRetryTimes(s.getRetryTimes() + 1))
+              s -> s.setPush(false).setRetryTimes(s.getRetryTimes() + 1))
+          .peek(eventPushRetryPolicy::scheduleNext)
           .collect(Collectors.toList()));
     } catch (Exception e1) {
       log.error("EventSendJob:sendEvent execute fail, update push status exception:", e1);
     }
   }
 
-  private void updateEventFailStatus(List<EventPush> eventInPending, Exception e) {
+  private void updateEventFailStatus(List<EventPush> eventInPending) {
     try {
-      eventPushCmd.updateEventPushFail(eventInPending.stream()
-              .map(EventPush::getEventId).collect(Collectors.toList()),
-          lengthSafe(e.getMessage(), MAX_EVENT_RESULT_MSG_LENGTH));
+      Map<String, List<Long>> pushMsgEventIds = eventInPending.stream()
+          .collect(Collectors.groupingBy(s -> Objects.toString(s.getPushMsg(), ""),
+              Collectors.mapping(EventPush::getEventId, Collectors.toList())));
+      for (Map.Entry<String, List<Long>> entry : pushMsgEventIds.entrySet()) {
+        eventPushCmd.updateEventPushFail(entry.getValue(), entry.getKey());
+      }
     } catch (Exception e2) {
       log.error("EventSendJob:sendEvent execute fail, update event push status exception:", e2);
     }
@@ -0,0 +1,132 @@
+package cloud.xcan.angus.core.gm.infra.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding tasks until their due time.
+ *
+ * <p>The lowest wheel has <code>wheelSize</code> buckets of <code>tickMillis</code> each, every
+ * higher wheel has buckets spanning a whole revolution of the wheel below and is only created
+ * when a task is due beyond the range of the wheels so far. Adding a task and advancing by a tick
+ * take constant time regardless of the number of tasks. When a higher wheel advances, its tasks
+ * are moved down into the lower wheels until they expire in the lowest one.</p>
+ *
+ * <p>A task never expires before its due time and at most one tick after it, provided
+ * {@link #advance(long, Consumer)} is called every tick. Not thread-safe, callers
+ * synchronize.</p>
+ */
+public class HierarchicalTimingWheel<T> {
+
+  private final long tickMillis;
+  private final int wheelSize;
+  private final Wheel root;
+  private int size;
+
+  public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    this.root = new Wheel(tickMillis, startMillis);
+  }
+
+  /**
+   * Adds the task due at the given time.
+   *
+   * @return false when the task is already due and was not added
+   */
+  public boolean add(long dueMillis, T task) {
+    // Expires at the first tick not before the due time
+    long expiration = (dueMillis + tickMillis - 1) / tickMillis * tickMillis;
+    if (!root.add(new Entry<>(expiration, task))) {
+      return false;
+    }
+    size++;
+    return true;
+  }
+
+  /**
+   * Advances the wheels to the given time and passes the expired tasks to the consumer.
+   */
+  public void advance(long nowMillis, Consumer<T> expired) {
+    List<Entry<T>> drained = new ArrayList<>();
+    root.advance(nowMillis, drained);
+    for (Entry<T> entry : drained) {
+      // Moved down into a lower wheel, or expired
+      if (!root.add(entry)) {
+        size--;
+        expired.accept(entry.task);
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private static class Entry<T> {
+
+    private final long expiration;
+    private final T task;
+
+    Entry(long expiration, T task) {
+      this.expiration = expiration;
+      this.task = task;
+    }
+  }
+
+  private final class Wheel {
+
+    private final long tick;
+    private final long interval;
+    private final List<Entry<T>>[] buckets;
+    private long currentTime;
+    private Wheel overflow;
+
+    @SuppressWarnings("unchecked")
+    Wheel(long tick, long startMillis) {
+      this.tick = tick;
+      this.interval = tick * wheelSize;
+      this.buckets = new List[wheelSize];
+      this.currentTime = startMillis - startMillis % tick;
+    }
+
+    boolean add(Entry<T> entry) {
+      if (entry.expiration < currentTime + tick) {
+        // Expired at the resolution of this wheel
+        return false;
+      }
+      if (entry.expiration < currentTime + interval) {
+        int index = (int) ((entry.expiration / tick) % wheelSize);
+        if (buckets[index] == null) {
+          buckets[index] = new ArrayList<>();
+        }
+        buckets[index].add(entry);
+        return true;
+      }
+      if (overflow == null) {
+        overflow = new Wheel(interval, currentTime);
+      }
+      return overflow.add(entry);
+    }
+
+    void advance(long nowMillis, List<Entry<T>> drained) {
+      long target = nowMillis - nowMillis % tick;
+      if (target > currentTime) {
+        // A whole revolution drains every bucket, e.g. after a long pause
+        long steps = Math.min(wheelSize, (target - currentTime) / tick);
+        for (long step = 1; step <= steps; step++) {
+          int index = (int) (((currentTime + step * tick) / tick) % wheelSize);
+          if (buckets[index] != null) {
+            drained.addAll(buckets[index]);
+            buckets[index] = null;
+          }
+        }
+        currentTime = target;
+      }
+      if (overflow != null) {
+        overflow.advance(nowMillis, drained);
+      }
+    }
+  }
+}
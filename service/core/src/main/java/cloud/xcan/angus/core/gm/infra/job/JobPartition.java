@@ -0,0 +1,29 @@
+package cloud.xcan.angus.core.gm.infra.job;
+
+import lombok.Getter;
+
+/**
+ * A disjoint slice of a job backlog, records whose <code>MOD(id, count) = index</code> belong to
+ * the partition.
+ */
+@Getter
+public class JobPartition {
+
+  /**
+   * The whole backlog, used when partitioning is disabled.
+   */
+  public static final JobPartition ALL = new JobPartition(1, 0);
+
+  private final int count;
+  private final int index;
+
+  public JobPartition(int count, int index) {
+    this.count = count;
+    this.index = index;
+  }
+
+  @Override
+  public String toString() {
+    return index + "/" + count;
+  }
+}
@@ -0,0 +1,204 @@
+package cloud.xcan.angus.core.gm.infra.job;
+
+import static java.util.Objects.nonNull;
+
+import cloud.xcan.angus.core.gm.infra.config.JobPartitionProperties;
+import cloud.xcan.angus.core.job.JobTemplate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Runs send jobs on all live instances over disjoint partitions of their backlog.
+ *
+ * <p>Instances heartbeat into a Redis sorted set, partition <code>p</code> is owned by the
+ * instance at position <code>p % liveInstances</code> of the sorted member list. Ownership only
+ * balances the load, a partition is processed under a lease that is renewed by the heartbeat, so
+ * it is never processed twice at the same time while instances disagree on the membership, and
+ * the partitions of a crashed instance are taken over once its membership and leases expire.</p>
+ *
+ * <p>When partitioning is disabled the job runs as before, under the global {@link JobTemplate}
+ * lock and over the whole backlog.</p>
+ */
+@Slf4j
+public class JobPartitionTemplate implements DisposableBean {
+
+  public static final String MEMBERS_KEY = "gm:job:partition:members";
+
+  private static final String RENEW_SCRIPT = """
+      if redis.call('GET', KEYS[1]) == ARGV[1] then
+        return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+      end
+      return 0
+      """;
+
+  private static final String RELEASE_SCRIPT = """
+      if redis.call('GET', KEYS[1]) == ARGV[1] then
+        return redis.call('DEL', KEYS[1])
+      end
+      return 0
+      """;
+
+  private final DefaultRedisScript<Long> renewScript
+      = new DefaultRedisScript<>(RENEW_SCRIPT, Long.class);
+  private final DefaultRedisScript<Long> releaseScript
+      = new DefaultRedisScript<>(RELEASE_SCRIPT, Long.class);
+
+  private final String instanceId = UUID.randomUUID().toString();
+  private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+  private volatile List<String> members = Collections.emptyList();
+
+  private final JobTemplate jobTemplate;
+  private final StringRedisTemplate stringRedisTemplate;
+  private final JobPartitionProperties properties;
+  private final ScheduledExecutorService heartbeatExecutor;
+
+  public JobPartitionTemplate(JobTemplate jobTemplate, StringRedisTemplate stringRedisTemplate,
+      JobPartitionProperties properties) {
+    this.jobTemplate = jobTemplate;
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.properties = properties;
+    if (properties.isEnabled()) {
+      // Not a @Scheduled task: the shared scheduler thread is busy while a job is running
+      this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+          new CustomizableThreadFactory("job-partition-heartbeat-"));
+      long period = Math.max(1, TimeUnit.SECONDS.toMillis(properties.getLeaseSeconds()) / 3);
+      this.heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, 0, period,
+          TimeUnit.MILLISECONDS);
+    } else {
+      this.heartbeatExecutor = null;
+    }
+  }
+
+  /**
+   * Executes the job for every partition owned by this instance.
+   *
+   * @param lockKey Job lock key, partition leases are derived from it
+   * @param timeout Lock timeout when partitioning is disabled
+   */
+  public void execute(String lockKey, long timeout, TimeUnit unit, PartitionedJob job) {
+    if (!properties.isEnabled()) {
+      jobTemplate.execute(lockKey, timeout, unit, () -> job.execute(JobPartition.ALL));
+      return;
+    }
+
+    List<String> currentMembers = members;
+    int memberNum = Math.max(1, currentMembers.size());
+    // Not registered yet, e.g. Redis was unreachable on last heartbeat: act as the only member,
+    // partition leases still prevent concurrent processing
+    int memberIndex = Math.max(0, currentMembers.indexOf(instanceId));
+    int partitions = Math.max(1, properties.getPartitions());
+    for (int index = memberIndex; index < partitions; index += memberNum) {
+      executeInLease(lockKey + ":partition:" + index, job, new JobPartition(partitions, index));
+    }
+  }
+
+  /**
+   * Executes the job for the partition of a record, whichever instance owns it, e.g. when the
+   * record is due. Skipped when the partition is being processed.
+   *
+   * @param lockKey  Job lock key, partition leases are derived from it
+   * @param recordId ID of the record deciding the partition
+   * @param timeout  Lock timeout when partitioning is disabled
+   * @return Whether the job was executed, false when the lease or lock was not acquired
+   */
+  public boolean executePartitionOf(String lockKey, long recordId, long timeout, TimeUnit unit,
+      PartitionedJob job) {
+    if (!properties.isEnabled()) {
+      boolean[] executed = {false};
+      jobTemplate.execute(lockKey, timeout, unit, () -> {
+        executed[0] = true;
+        job.execute(JobPartition.ALL);
+      });
+      return executed[0];
+    }
+
+    int partitions = Math.max(1, properties.getPartitions());
+    int index = (int) Math.floorMod(recordId, (long) partitions);
+    return executeInLease(lockKey + ":partition:" + index, job,
+        new JobPartition(partitions, index));
+  }
+
+  private boolean executeInLease(String leaseKey, PartitionedJob job, JobPartition partition) {
+    Boolean acquired;
+    try {
+      acquired = stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, instanceId,
+          Duration.ofSeconds(properties.getLeaseSeconds()));
+    } catch (Exception e) {
+      log.warn("Acquire job partition lease {} exception: {}", leaseKey, e.getMessage());
+      return false;
+    }
+    if (!Boolean.TRUE.equals(acquired)) {
+      return false;
+    }
+
+    heldLeases.add(leaseKey);
+    try {
+      job.execute(partition);
+    } catch (Exception e) {
+      log.error("Execute job partition {} exception: ", leaseKey, e);
+    } finally {
+      heldLeases.remove(leaseKey);
+      try {
+        stringRedisTemplate.execute(releaseScript, List.of(leaseKey), instanceId);
+      } catch (Exception e) {
+        // Expires by itself
+        log.warn("Release job partition lease {} exception: {}", leaseKey, e.getMessage());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Refreshes the membership of this instance and the leases of running partitions.
+   */
+  private void heartbeat() {
+    long now = System.currentTimeMillis();
+    long leaseMillis = TimeUnit.SECONDS.toMillis(properties.getLeaseSeconds());
+    try {
+      ZSetOperations<String, String> zSetOps = stringRedisTemplate.opsForZSet();
+      zSetOps.add(MEMBERS_KEY, instanceId, now);
+      zSetOps.removeRangeByScore(MEMBERS_KEY, 0, now - leaseMillis);
+      Set<String> liveMembers = zSetOps.rangeByScore(MEMBERS_KEY, now - leaseMillis,
+          Double.MAX_VALUE);
+      List<String> sortedMembers = nonNull(liveMembers) ? new ArrayList<>(liveMembers)
+          : new ArrayList<>();
+      Collections.sort(sortedMembers);
+      members = Collections.unmodifiableList(sortedMembers);
+
+      for (String leaseKey : heldLeases) {
+        stringRedisTemplate.execute(renewScript, List.of(leaseKey), instanceId,
+            String.valueOf(leaseMillis));
+      }
+    } catch (Exception e) {
+      log.warn("Job partition heartbeat exception: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (heartbeatExecutor == null) {
+      return;
+    }
+    heartbeatExecutor.shutdownNow();
+    try {
+      // Let the remaining instances take over without waiting for the lease to expire
+      stringRedisTemplate.opsForZSet().remove(MEMBERS_KEY, instanceId);
+    } catch (Exception e) {
+      log.warn("Unregister job partition member exception: {}", e.getMessage());
+    }
+  }
+}
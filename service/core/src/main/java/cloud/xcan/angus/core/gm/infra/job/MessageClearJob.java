@@ -1,51 +1,143 @@
 package cloud.xcan.angus.core.gm.infra.job;
 
-import static cloud.xcan.angus.spec.utils.ObjectUtils.isNotEmpty;
+import static cloud.xcan.angus.spec.utils.ObjectUtils.isEmpty;
 
 import cloud.xcan.angus.core.gm.domain.message.MessageSentRepo;
+import cloud.xcan.angus.core.gm.infra.config.MessageClearProperties;
+import cloud.xcan.angus.core.gm.infra.message.MessageInboxCounter;
 import cloud.xcan.angus.core.job.JobTemplate;
 import jakarta.annotation.Resource;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Reserves only the newest {@link MessageClearProperties#getReservedNum()} messages of each user.
+ *
+ * <p>Users over the reserved number are walked in ascending ID order with a keyset cursor. For
+ * each user the ID of the newest unreserved message is found once, older messages are then
+ * deleted in bounded batches, each batch in its own short transaction, and the delete rate is
+ * throttled so the job does not hold locks on message_sent for long or lag the replicas.</p>
+ *
+ * <p>A throttled clear may take minutes, it runs on its own thread instead of the shared
+ * scheduler thread, so the send jobs are not held back meanwhile.</p>
+ */
 @Slf4j
 @Component
-public class MessageClearJob {
+public class MessageClearJob implements DisposableBean {
 
   private static final String LOCK_KEY = "gm:job:MessageClearJob";
 
-  private static final Long USER_RESERVED_NUM = 200L;
-  private static final Long COUNT = 2000L;
-
   @Resource
   private JobTemplate jobTemplate;
 
   @Resource
   private MessageSentRepo messageSentRepo;
 
+  @Resource
+  private MessageInboxCounter messageInboxCounter;
+
+  @Resource
+  private MessageClearProperties messageClearProperties;
+
   /**
-   * Only {@link MessageClearJob#USER_RESERVED_NUM} messages are reserved for each user.
+   * Receive user ID cursor, continued by the next execution.
    */
-  @Transactional(rollbackFor = Exception.class)
+  private long lastUserId = -1L;
+
+  private final AtomicBoolean clearing = new AtomicBoolean();
+
+  private final ExecutorService clearExecutor = Executors.newSingleThreadExecutor(
+      new CustomizableThreadFactory("message-clear-"));
+
   @Scheduled(fixedDelay = 10 * 1000, initialDelay = 3300)
   public void execute() {
+    // Skipped while the previous clear is still running
+    if (!clearing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      clearExecutor.execute(() -> {
+        try {
+          clear();
+        } finally {
+          clearing.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // Shutting down
+      clearing.set(false);
+    }
+  }
+
+  private void clear() {
     jobTemplate.execute(LOCK_KEY, 60, TimeUnit.MINUTES, () -> {
-      List<Long> receiveUserIds = messageSentRepo.getReceiveUserIdHavingCount(
-          USER_RESERVED_NUM, COUNT);
-      if (isNotEmpty(receiveUserIds)) {
-        for (Long receiveUserId : receiveUserIds) {
-          try {
-            messageSentRepo.deleteByReceiveUserIdAndCount(receiveUserId, USER_RESERVED_NUM);
-          } catch (Exception e) {
-            log.error("MessageClearJob#Execute fail:", e);
-          }
+      List<Long> receiveUserIds = messageSentRepo.findReceiveUserIdHavingCountAfter(lastUserId,
+          messageClearProperties.getReservedNum(), messageClearProperties.getUserBatchSize());
+      if (isEmpty(receiveUserIds)) {
+        // Start over on the next execution
+        lastUserId = -1L;
+        return;
+      }
+      for (Long receiveUserId : receiveUserIds) {
+        try {
+          clearUserMessages(receiveUserId);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        } catch (Exception e) {
+          log.error("MessageClearJob#Execute fail:", e);
         }
+        lastUserId = receiveUserId;
       }
     });
   }
 
+  private void clearUserMessages(Long receiveUserId) throws InterruptedException {
+    Long maxId = messageSentRepo.findFirstUnreservedId(receiveUserId,
+        messageClearProperties.getReservedNum());
+    if (maxId == null) {
+      return;
+    }
+    int batchSize = Math.max(1, messageClearProperties.getDeleteBatchSize());
+    List<Long> ids;
+    do {
+      long startMillis = System.currentTimeMillis();
+      ids = messageSentRepo.findIdByReceiveUserIdAndIdLessThanEqual(receiveUserId, maxId,
+          batchSize);
+      if (ids.isEmpty()) {
+        break;
+      }
+      messageSentRepo.deleteByIdIn(ids);
+      throttle(ids.size(), System.currentTimeMillis() - startMillis);
+    } while (ids.size() == batchSize);
+
+    // Removed records are not tracked by the counters
+    messageInboxCounter.reset(receiveUserId);
+  }
+
+  private void throttle(int deletedNum, long elapsedMillis) throws InterruptedException {
+    int rowsPerSecond = messageClearProperties.getRowsPerSecond();
+    if (rowsPerSecond <= 0) {
+      return;
+    }
+    long budgetMillis = TimeUnit.SECONDS.toMillis(deletedNum) / rowsPerSecond;
+    if (budgetMillis > elapsedMillis) {
+      Thread.sleep(budgetMillis - elapsedMillis);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    clearExecutor.shutdownNow();
+  }
+
 }
@@ -0,0 +1,211 @@
+package cloud.xcan.angus.core.gm.infra.job;
+
+import cloud.xcan.angus.core.gm.domain.message.Message;
+import cloud.xcan.angus.core.gm.domain.message.MessageReceiveType;
+import cloud.xcan.angus.core.gm.domain.message.MessageRepo;
+import cloud.xcan.angus.core.gm.domain.message.MessageStatus;
+import jakarta.annotation.Resource;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Triggers the send of pending messages when their timing date is due.
+ *
+ * <p>Messages are held in a {@link HierarchicalTimingWheel} in memory, added when they are created
+ * on this instance and loaded periodically for the near future, so the send jobs do not poll the
+ * database while nothing is due. A due message runs the send job for its partition right away,
+ * and is scheduled again shortly when the partition is being processed, the jobs keep a
+ * low-frequency sweep as a safety net.</p>
+ */
+@Slf4j
+@Component
+public class MessageTimingScheduler implements DisposableBean {
+
+  private static final long TICK_MILLIS = 100;
+  private static final int WHEEL_SIZE = 512;
+
+  /**
+   * Pending messages due within this period are loaded by each sweep.
+   */
+  private static final long LOAD_HORIZON_MINUTES = 5;
+
+  /**
+   * Backoff of a due message whose partition is being processed, doubled on each miss.
+   */
+  private static final long MISS_RETRY_DELAY_MILLIS = 1000;
+
+  /**
+   * Misses of a due message before it is left to the sweep of the send job.
+   */
+  private static final int MAX_MISS_RETRIES = 8;
+
+  @Resource
+  private MessageRepo messageRepo;
+
+  @Resource
+  private SiteMessageSendJob siteMessageSendJob;
+
+  @Resource
+  private EmailMessageSentJob emailMessageSentJob;
+
+  private final HierarchicalTimingWheel<DueMessage> wheel = new HierarchicalTimingWheel<>(
+      TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+  /**
+   * Message ID to its scheduled due time, guarded by the wheel.
+   */
+  private final Map<Long, Long> scheduledDue = new HashMap<>();
+
+  private final ScheduledExecutorService tickExecutor = Executors.newSingleThreadScheduledExecutor(
+      new CustomizableThreadFactory("message-timing-tick-"));
+  private final ExecutorService sendExecutor = Executors.newFixedThreadPool(2,
+      new CustomizableThreadFactory("message-timing-send-"));
+
+  public MessageTimingScheduler() {
+    tickExecutor.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Schedules the send of a created message after the current transaction commits.
+   */
+  public void schedule(Message message) {
+    if (!MessageStatus.PENDING.equals(message.getStatus()) || message.getTimingDate() == null) {
+      return;
+    }
+    DueMessage dueMessage = new DueMessage(message.getId(), message.getReceiveType(),
+        toDueMillis(message.getTimingDate()));
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          schedule(dueMessage);
+        }
+      });
+    } else {
+      schedule(dueMessage);
+    }
+  }
+
+  /**
+   * Loads the pending messages due in the near future, e.g. created on other instances or before
+   * a restart.
+   */
+  @Scheduled(fixedDelay = 60 * 1000, initialDelay = 1000)
+  public void load() {
+    LocalDateTime now = LocalDateTime.now();
+    List<Message> messages = messageRepo.findAllByStatusAndTimingDateBetween(
+        MessageStatus.PENDING, now, now.plusMinutes(LOAD_HORIZON_MINUTES));
+    for (Message message : messages) {
+      schedule(new DueMessage(message.getId(), message.getReceiveType(),
+          toDueMillis(message.getTimingDate())));
+    }
+  }
+
+  private void schedule(DueMessage dueMessage) {
+    synchronized (wheel) {
+      Long previousDue = scheduledDue.put(dueMessage.id, dueMessage.dueMillis);
+      if (previousDue != null && previousDue == dueMessage.dueMillis) {
+        return;
+      }
+      if (wheel.add(dueMessage.dueMillis, dueMessage)) {
+        return;
+      }
+      scheduledDue.remove(dueMessage.id);
+    }
+    send(dueMessage);
+  }
+
+  private void tick() {
+    List<DueMessage> dueMessages = new ArrayList<>();
+    synchronized (wheel) {
+      wheel.advance(System.currentTimeMillis(), dueMessage -> {
+        // Skip entries replaced by a later schedule of the same message
+        if (scheduledDue.remove(dueMessage.id, dueMessage.dueMillis)) {
+          dueMessages.add(dueMessage);
+        }
+      });
+    }
+    dueMessages.forEach(this::send);
+  }
+
+  private void send(DueMessage dueMessage) {
+    sendExecutor.execute(() -> {
+      try {
+        boolean executed = true;
+        if (MessageReceiveType.SITE.equals(dueMessage.receiveType)) {
+          executed = siteMessageSendJob.sentDueSiteMessage(dueMessage.id);
+        } else if (MessageReceiveType.EMAIL.equals(dueMessage.receiveType)) {
+          executed = emailMessageSentJob.sentDueEmailMessage(dueMessage.id);
+        }
+        if (!executed) {
+          retryMissed(dueMessage);
+        }
+      } catch (Exception e) {
+        // Sent by the sweep of the job
+        log.error("Send due message {} exception: ", dueMessage.id, e);
+      }
+    });
+  }
+
+  /**
+   * Schedules a due message again when its partition was being processed, the running job may
+   * have queried the pending messages before this one was due.
+   */
+  private void retryMissed(DueMessage dueMessage) {
+    if (dueMessage.misses >= MAX_MISS_RETRIES) {
+      return;
+    }
+    long delay = MISS_RETRY_DELAY_MILLIS << Math.min(dueMessage.misses, 3);
+    schedule(new DueMessage(dueMessage.id, dueMessage.receiveType,
+        System.currentTimeMillis() + delay, dueMessage.misses + 1));
+  }
+
+  /**
+   * The timing date is stored with second precision and compared with the current time by the
+   * send jobs, the message is due after the whole second.
+   */
+  private static long toDueMillis(LocalDateTime timingDate) {
+    long millis = timingDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    return (millis + 999) / 1000 * 1000 + 1;
+  }
+
+  @Override
+  public void destroy() {
+    tickExecutor.shutdownNow();
+    sendExecutor.shutdownNow();
+  }
+
+  private static class DueMessage {
+
+    private final Long id;
+    private final MessageReceiveType receiveType;
+    private final long dueMillis;
+    private final int misses;
+
+    DueMessage(Long id, MessageReceiveType receiveType, long dueMillis) {
+      this(id, receiveType, dueMillis, 0);
+    }
+
+    DueMessage(Long id, MessageReceiveType receiveType, long dueMillis, int misses) {
+      this.id = id;
+      this.receiveType = receiveType;
+      this.dueMillis = dueMillis;
+      this.misses = misses;
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package cloud.xcan.angus.core.gm.infra.job;
+
+@FunctionalInterface
+public interface PartitionedJob {
+
+  void execute(JobPartition partition);
+
+}
@@ -9,7 +9,6 @@ import cloud.xcan.angus.core.gm.application.cmd.event.EventCmd;
 import cloud.xcan.angus.core.gm.application.query.event.EventQuery;
 import cloud.xcan.angus.core.gm.domain.event.Event;
 import cloud.xcan.angus.core.gm.domain.event.push.EventPushStatus;
-import cloud.xcan.angus.core.job.JobTemplate;
 import jakarta.annotation.Resource;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -26,7 +25,7 @@ public class PushEventGenJob {
   private final static int COUNT = 200;
 
   @Resource
-  private JobTemplate jobTemplate;
+  private JobPartitionTemplate jobPartitionTemplate;
 
   @Resource
   private EventCmd eventCmd;
@@ -36,14 +35,16 @@ public class PushEventGenJob {
 
   @Scheduled(fixedDelay = 15 * 1000, initialDelay = 1700)
   public void genPushEvent() {
-    jobTemplate.execute(LOCK_KEY, 20, TimeUnit.MINUTES, () -> {
+    jobPartitionTemplate.execute(LOCK_KEY, 20, TimeUnit.MINUTES, partition -> {
       List<Event> eventInPending = null;
       try {
-        eventInPending = eventQuery.findEventInUnPush(COUNT);
+        eventInPending = eventQuery.findEventInUnPush(COUNT, partition.getCount(),
+            partition.getIndex());
         while (isNotEmpty(eventInPending)) {
           eventCmd.genPushEvent(eventInPending);
           eventInPending = eventInPending.size() >= COUNT
-              ? eventQuery.findEventInUnPush(COUNT) : null;
+              ? eventQuery.findEventInUnPush(COUNT, partition.getCount(),
+                  partition.getIndex()) : null;
         }
       } catch (Exception e) {
         log.error("PushEventGenJob#Execute fail:", e);
@@ -1,19 +1,28 @@
 package cloud.xcan.angus.core.gm.infra.job;
 
-import static cloud.xcan.angus.spec.utils.ObjectUtils.isNotEmpty;
-
 import cloud.xcan.angus.core.gm.application.cmd.message.MessageCmd;
 import cloud.xcan.angus.core.gm.application.query.message.MessageQuery;
 import cloud.xcan.angus.core.gm.domain.message.Message;
 import cloud.xcan.angus.core.gm.domain.message.MessageReceiveType;
-import cloud.xcan.angus.core.job.JobTemplate;
+import cloud.xcan.angus.remote.message.AbstractResultMessageException;
 import jakarta.annotation.Resource;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-
+/**
+ * Sends pending in-site messages in chunks of recipients.
+ *
+ * <p>Each chunk is committed with its progress by {@link MessageCmd#sentInSiteMessage(Message)},
+ * so a message interrupted by a failure or restart continues after its last committed chunk. A
+ * message is marked failed when its send is rejected as invalid, or when its chunks keep failing
+ * {@link #MAX_FAILED_ATTEMPTS} times on this instance.</p>
+ */
+@Slf4j
 @Component
 public class SiteMessageSendJob {
 
@@ -21,8 +30,15 @@ public class SiteMessageSendJob {
 
   private static final int COUNT = 200;
 
+  private static final int MAX_FAILED_ATTEMPTS = 5;
+
+  /**
+   * Message ID to its consecutive failed chunk attempts.
+   */
+  private final Map<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+
   @Resource
-  private JobTemplate jobTemplate;
+  private JobPartitionTemplate jobPartitionTemplate;
 
   @Resource
   private MessageQuery messageQuery;
@@ -30,18 +46,61 @@ public class SiteMessageSendJob {
   @Resource
   private MessageCmd messageCmd;
 
-  @Scheduled(fixedDelay = 3 * 1000, initialDelay = 3500)
+  /**
+   * Safety net of {@link MessageTimingScheduler}, e.g. for messages whose send failed.
+   */
+  @Scheduled(fixedDelay = 60 * 1000, initialDelay = 3500)
   public void sentSiteMessage() {
-    jobTemplate.execute(LOCK_KEY, 10, TimeUnit.MINUTES, () -> {
-      List<Message> siteMessages = messageQuery.getPendingMessage(MessageReceiveType.SITE, COUNT);
-      while (isNotEmpty(siteMessages)) {
-        for (Message siteMessage : siteMessages) {
-          // Send a message to commit a transaction
+    jobPartitionTemplate.execute(LOCK_KEY, 10, TimeUnit.MINUTES, this::sentSiteMessage0);
+  }
+
+  /**
+   * Sends the due messages of the partition of the message.
+   *
+   * @return Whether the send ran, false when the partition is being processed
+   */
+  public boolean sentDueSiteMessage(long messageId) {
+    return jobPartitionTemplate.executePartitionOf(LOCK_KEY, messageId, 10, TimeUnit.MINUTES,
+        this::sentSiteMessage0);
+  }
+
+  private void sentSiteMessage0(JobPartition partition) {
+    boolean progressed;
+    do {
+      // Send one chunk of each pending message per round, so a message to a large audience
+      // does not hold back the others, unfinished messages are pending again in the next round
+      List<Message> siteMessages = messageQuery.getPendingMessage(MessageReceiveType.SITE,
+          COUNT, partition.getCount(), partition.getIndex());
+      progressed = false;
+      for (Message siteMessage : siteMessages) {
+        try {
+          // Send a chunk to commit a transaction
           messageCmd.sentInSiteMessage(siteMessage);
+          failedAttempts.remove(siteMessage.getId());
+          progressed = true;
+        } catch (Exception e) {
+          log.error("SiteMessageSendJob#Send message {} fail:", siteMessage.getId(), e);
+          handleFailure(siteMessage, e);
         }
-        siteMessages = siteMessages.size() >= COUNT ?
-            messageQuery.getPendingMessage(MessageReceiveType.SITE, COUNT) : null;
       }
-    });
+    } while (progressed);
+  }
+
+  /**
+   * The failed chunk was rolled back, the message is retried and resumed after its last
+   * committed chunk unless the failure is not retryable or the attempts are used up.
+   */
+  private void handleFailure(Message siteMessage, Exception e) {
+    int attempts = failedAttempts.merge(siteMessage.getId(), 1, Integer::sum);
+    if (!(e instanceof AbstractResultMessageException) && attempts < MAX_FAILED_ATTEMPTS) {
+      return;
+    }
+    failedAttempts.remove(siteMessage.getId());
+    try {
+      messageCmd.sentFailure(siteMessage.getId(), e.getMessage());
+    } catch (Exception e1) {
+      log.error("SiteMessageSendJob#Update message {} failure exception:",
+          siteMessage.getId(), e1);
+    }
   }
 }
@@ -7,7 +7,6 @@ import cloud.xcan.angus.core.gm.application.cmd.sms.SmsCmd;
 import cloud.xcan.angus.core.gm.application.query.sms.SmsQuery;
 import cloud.xcan.angus.core.gm.domain.sms.Sms;
 import cloud.xcan.angus.core.gm.domain.sms.channel.SmsChannel;
-import cloud.xcan.angus.core.job.JobTemplate;
 import cloud.xcan.angus.extension.sms.api.SmsProvider;
 import cloud.xcan.angus.spec.annotations.DoInFuture;
 import jakarta.annotation.Resource;
@@ -27,7 +26,7 @@ public class SmsSendJob {
   private final static int COUNT = 100;
 
   @Resource
-  private JobTemplate jobTemplate;
+  private JobPartitionTemplate jobPartitionTemplate;
 
   @Resource
   private SmsQuery smsQuery;
@@ -38,7 +37,7 @@ public class SmsSendJob {
   @DoInFuture("Support resending after failure")
   @Scheduled(fixedDelay = 33 * 1000, initialDelay = 1000)
   public void sendEmail() {
-    jobTemplate.execute(LOCK_KEY, 20, TimeUnit.MINUTES, () -> {
+    jobPartitionTemplate.execute(LOCK_KEY, 20, TimeUnit.MINUTES, partition -> {
       List<Sms> smsInPending = null;
       try {
         SmsChannel enabledChannel;
@@ -52,12 +51,15 @@ public class SmsSendJob {
           return;
         }
 
-        smsInPending = smsQuery.findSmsInPending(COUNT);
+        smsInPending = smsQuery.findSmsInPending(COUNT, partition.getCount(),
+            partition.getIndex());
         while (isNotEmpty(smsInPending)) {
-          for (Sms sms : smsInPending) {
-            smsCmd.sendByJob(sms, enabledChannel, smsProvider);
-          }
-          smsInPending = smsInPending.size() >= COUNT ? smsQuery.findSmsInPending(COUNT) : null;
+          // Grouped by template into batch requests of the provider
+          smsCmd.sendByJob(smsInPending, enabledChannel, smsProvider);
+          // Persist the results of the batch in bulk
+          smsCmd.update0(smsInPending);
+          smsInPending = smsInPending.size() >= COUNT ? smsQuery.findSmsInPending(COUNT,
+              partition.getCount(), partition.getIndex()) : null;
         }
       } catch (Exception e) {
         log.error("SmsSendJob#Execute fail:", e);
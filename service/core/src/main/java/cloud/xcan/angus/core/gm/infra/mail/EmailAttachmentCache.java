@@ -0,0 +1,257 @@
+package cloud.xcan.angus.core.gm.infra.mail;
+
+import cloud.xcan.angus.core.gm.infra.config.EmailAttachmentProperties;
+import jakarta.activation.DataSource;
+import jakarta.activation.FileTypeMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Attachment contents shared by the emails sent with the same attachment URL.
+ *
+ * <p>An attachment is downloaded once and its bytes are reused by every message and recipient
+ * it is sent to, instead of being downloaded again whenever a message is written. Attachments up
+ * to {@link EmailAttachmentProperties#getMaxInMemoryBytes()} are kept in memory, larger ones are
+ * spilled to a local directory. Concurrent sends of the same URL wait for a single download. The
+ * least recently used attachments are evicted beyond the memory and disk limits, and unused
+ * attachments after {@link EmailAttachmentProperties#getExpireSeconds()}.</p>
+ */
+@Slf4j
+public class EmailAttachmentCache implements DisposableBean {
+
+  private final EmailAttachmentProperties properties;
+  private final Path spillDir;
+  private final Map<String, CompletableFuture<CachedAttachment>> attachments
+      = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService evictExecutor;
+
+  public EmailAttachmentCache(EmailAttachmentProperties properties) throws IOException {
+    this.properties = properties;
+    // Spill into a directory of this instance, the configured directory may be shared
+    Path baseDir = Files.createDirectories(Paths.get(properties.getSpillDir()));
+    this.spillDir = Files.createTempDirectory(baseDir, "attachments-");
+    this.evictExecutor = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("email-attachment-evict-"));
+    long period = Math.max(1, properties.getExpireSeconds() / 2);
+    this.evictExecutor.scheduleWithFixedDelay(this::evictExpired, period, period,
+        TimeUnit.SECONDS);
+  }
+
+  /**
+   * Returns the content of the attachment, downloading it when not cached. The data source can be
+   * read any number of times, e.g. once per recipient.
+   *
+   * @param name Attachment file name, deciding the content type
+   */
+  public DataSource getDataSource(String name, String url) throws IOException {
+    CompletableFuture<CachedAttachment> created = new CompletableFuture<>();
+    CompletableFuture<CachedAttachment> future = attachments.putIfAbsent(url, created);
+    if (future == null) {
+      future = created;
+      try {
+        created.complete(download(url));
+        evictOverLimits();
+      } catch (IOException | RuntimeException e) {
+        // Not cached, the next send downloads it again
+        attachments.remove(url, created);
+        created.completeExceptionally(e);
+      }
+    }
+
+    CachedAttachment attachment;
+    try {
+      attachment = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while downloading attachment " + url, e);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException ? (IOException) e.getCause()
+          : new IOException("Download attachment " + url + " exception", e.getCause());
+    }
+    attachment.lastUsedMillis = System.currentTimeMillis();
+    return new AttachmentDataSource(name, url, attachment);
+  }
+
+  private CachedAttachment download(String url) throws IOException {
+    URLConnection connection = new URL(url).openConnection();
+    connection.setConnectTimeout(properties.getConnectionTimeoutMillis());
+    connection.setReadTimeout(properties.getReadTimeoutMillis());
+    try (InputStream in = connection.getInputStream()) {
+      ByteArrayOutputStream memory = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        memory.write(buffer, 0, read);
+        if (memory.size() > properties.getMaxInMemoryBytes()) {
+          return spill(memory, in);
+        }
+      }
+      return new CachedAttachment(memory.toByteArray(), null, memory.size());
+    }
+  }
+
+  private CachedAttachment spill(ByteArrayOutputStream head, InputStream rest)
+      throws IOException {
+    Path file = Files.createTempFile(spillDir, "attachment-", ".tmp");
+    try (OutputStream out = Files.newOutputStream(file)) {
+      head.writeTo(out);
+      long size = head.size() + rest.transferTo(out);
+      return new CachedAttachment(null, file, size);
+    } catch (IOException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  private void evictExpired() {
+    long expireBefore = System.currentTimeMillis()
+        - TimeUnit.SECONDS.toMillis(properties.getExpireSeconds());
+    try {
+      for (Map.Entry<String, CachedAttachment> entry : completed()) {
+        if (entry.getValue().lastUsedMillis < expireBefore) {
+          evict(entry.getKey(), entry.getValue());
+        }
+      }
+    } catch (Exception e) {
+      log.warn("Evict expired email attachments exception: {}", e.getMessage());
+    }
+  }
+
+  private synchronized void evictOverLimits() {
+    List<Map.Entry<String, CachedAttachment>> cached = completed();
+    cached.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsedMillis));
+    long memoryBytes = 0;
+    long diskBytes = 0;
+    for (Map.Entry<String, CachedAttachment> entry : cached) {
+      if (entry.getValue().file == null) {
+        memoryBytes += entry.getValue().size;
+      } else {
+        diskBytes += entry.getValue().size;
+      }
+    }
+    // Least recently used first
+    for (Map.Entry<String, CachedAttachment> entry : cached) {
+      CachedAttachment attachment = entry.getValue();
+      if (attachment.file == null && memoryBytes > properties.getMaxMemoryBytes()) {
+        memoryBytes -= attachment.size;
+        evict(entry.getKey(), attachment);
+      } else if (attachment.file != null && diskBytes > properties.getMaxDiskBytes()) {
+        diskBytes -= attachment.size;
+        evict(entry.getKey(), attachment);
+      }
+    }
+  }
+
+  private List<Map.Entry<String, CachedAttachment>> completed() {
+    List<Map.Entry<String, CachedAttachment>> cached = new ArrayList<>();
+    for (Map.Entry<String, CompletableFuture<CachedAttachment>> entry : attachments.entrySet()) {
+      CompletableFuture<CachedAttachment> future = entry.getValue();
+      if (future.isDone() && !future.isCompletedExceptionally()) {
+        cached.add(Map.entry(entry.getKey(), future.join()));
+      }
+    }
+    return cached;
+  }
+
+  private void evict(String url, CachedAttachment attachment) {
+    attachments.computeIfPresent(url, (key, future) ->
+        future.isDone() && !future.isCompletedExceptionally() && future.join() == attachment
+            ? null : future);
+    if (attachment.file != null) {
+      try {
+        // Streams being read keep the content of the deleted file
+        Files.deleteIfExists(attachment.file);
+      } catch (IOException e) {
+        log.warn("Delete spilled email attachment {} exception: {}", attachment.file,
+            e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    evictExecutor.shutdownNow();
+    for (Map.Entry<String, CachedAttachment> entry : completed()) {
+      evict(entry.getKey(), entry.getValue());
+    }
+    FileUtils.deleteQuietly(spillDir.toFile());
+  }
+
+  private static class CachedAttachment {
+
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+    private volatile long lastUsedMillis = System.currentTimeMillis();
+
+    CachedAttachment(byte[] bytes, Path file, long size) {
+      this.bytes = bytes;
+      this.file = file;
+      this.size = size;
+    }
+  }
+
+  private static class AttachmentDataSource implements DataSource {
+
+    private final String name;
+    private final String url;
+    private final CachedAttachment attachment;
+
+    AttachmentDataSource(String name, String url, CachedAttachment attachment) {
+      this.name = name;
+      this.url = url;
+      this.attachment = attachment;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      if (attachment.file == null) {
+        return new ByteArrayInputStream(attachment.bytes);
+      }
+      try {
+        return Files.newInputStream(attachment.file);
+      } catch (NoSuchFileException e) {
+        // Evicted while the message was being sent
+        return new URL(url).openStream();
+      }
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+      throw new IOException("Read-only email attachment");
+    }
+
+    @Override
+    public String getContentType() {
+      return FileTypeMap.getDefaultFileTypeMap().getContentType(name);
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+  }
+}
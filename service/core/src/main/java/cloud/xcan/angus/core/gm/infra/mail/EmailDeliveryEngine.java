@@ -0,0 +1,115 @@
+package cloud.xcan.angus.core.gm.infra.mail;
+
+import cloud.xcan.angus.core.gm.domain.email.server.EmailServer;
+import cloud.xcan.angus.core.gm.infra.config.EmailDeliveryProperties;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Sends the emails of the send jobs in parallel within the concurrency limits of the email
+ * servers and the recipient domains.
+ *
+ * <p>A batch is sent on a bounded worker pool and waited for, so a job round takes about as long
+ * as its slowest email instead of the sum of all of them. Every single send holds a permit of
+ * its email server and, when it is sent to one address, a permit of the recipient domain, so
+ * neither the sending nor the receiving servers see more than
+ * {@link EmailDeliveryProperties#getMaxConcurrencyPerServer()} and
+ * {@link EmailDeliveryProperties#getMaxConcurrencyPerDomain()} connections of this node.
+ * Domains share a fixed number of permit stripes, so the limiter does not grow with the
+ * number of domains.</p>
+ */
+@Slf4j
+public class EmailDeliveryEngine implements DisposableBean {
+
+  private static final int DOMAIN_STRIPES = 256;
+
+  private final EmailDeliveryProperties properties;
+  private final ExecutorService executor;
+  private final Map<Long, Semaphore> serverPermits = new ConcurrentHashMap<>();
+  private final Semaphore[] domainPermits = new Semaphore[DOMAIN_STRIPES];
+
+  public EmailDeliveryEngine(EmailDeliveryProperties properties) {
+    this.properties = properties;
+    int poolSize = Math.max(1, properties.getPoolSize());
+    // Batches are waited for by the jobs, the queue never holds more than a few batches
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new CustomizableThreadFactory("email-delivery-"));
+    for (int i = 0; i < DOMAIN_STRIPES; i++) {
+      domainPermits[i] = new Semaphore(Math.max(1, properties.getMaxConcurrencyPerDomain()));
+    }
+  }
+
+  /**
+   * Runs the sends on the worker pool in the given order and waits for all of them, the sends
+   * handle their own failures.
+   */
+  public void executeAll(List<Callable<Void>> sends) throws InterruptedException {
+    List<Future<Void>> futures = executor.invokeAll(sends);
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (Exception e) {
+        log.error("Deliver email exception: {}", e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Performs a send over the server within its limits and those of the recipient domain.
+   *
+   * @param toAddr Single recipient address, or null when sent to multiple addresses
+   */
+  public void send(EmailServer server, String toAddr, MailSend send) throws Exception {
+    Semaphore serverPermit = serverPermits.computeIfAbsent(server.getId(),
+        id -> new Semaphore(Math.max(1, properties.getMaxConcurrencyPerServer())));
+    Semaphore domainPermit = domainPermit(toAddr);
+    // Always acquired in this order, so two sends never wait for each other
+    serverPermit.acquire();
+    try {
+      if (domainPermit != null) {
+        domainPermit.acquire();
+      }
+      try {
+        send.send();
+      } finally {
+        if (domainPermit != null) {
+          domainPermit.release();
+        }
+      }
+    } finally {
+      serverPermit.release();
+    }
+  }
+
+  private Semaphore domainPermit(String toAddr) {
+    int at = toAddr == null ? -1 : toAddr.lastIndexOf('@');
+    if (at < 0) {
+      return null;
+    }
+    String domain = toAddr.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    return domainPermits[Math.floorMod(domain.hashCode(), DOMAIN_STRIPES)];
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  @FunctionalInterface
+  public interface MailSend {
+
+    void send() throws Exception;
+  }
+}
@@ -4,7 +4,6 @@ package cloud.xcan.angus.core.gm.infra.mail;
 import static cloud.xcan.angus.spec.SpecConstant.DEFAULT_ENCODING;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.isNotEmpty;
 import static java.util.Collections.emptyMap;
-import static org.springframework.ui.freemarker.FreeMarkerTemplateUtils.processTemplateIntoString;
 
 import cloud.xcan.angus.api.pojo.Attachment;
 import cloud.xcan.angus.core.gm.domain.email.Email;
@@ -17,6 +16,7 @@ import cloud.xcan.angus.spec.locale.SupportedLanguage;
 import freemarker.cache.StringTemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import freemarker.template.TemplateException;
 import jakarta.mail.PasswordAuthentication;
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
@@ -28,10 +28,8 @@ import java.util.Objects;
 import java.util.Properties;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.StringBuilderWriter;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.FileUrlResource;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
@@ -44,13 +42,33 @@ public class EmailSender {
   private final String BASE_TEMPLATE_KEY = "email_template";
   private final String EVENT_NOTICE_TEMPLATE_KEY = "event_notice_template";
 
-  private final ApplicationInfo applicationInfo;
+  private static final int TEMPLATE_CACHE_SIZE = 512;
+  /**
+   * Event notices have their own content per email, they are only reused across the recipients
+   * of an email and must not evict the stored templates.
+   */
+  private static final int NOTICE_TEMPLATE_CACHE_SIZE = 32;
+  /**
+   * Render buffers grown beyond this by a large email are not kept for reuse.
+   */
+  private static final int MAX_REUSED_RENDER_CHARS = 256 * 1024;
+
+  private final EmailTemplateCache templateCache
+      = new EmailTemplateCache(allTemplateConfig, TEMPLATE_CACHE_SIZE);
+  private final EmailTemplateCache noticeTemplateCache
+      = new EmailTemplateCache(allTemplateConfig, NOTICE_TEMPLATE_CACHE_SIZE);
+  private final ThreadLocal<StringBuilderWriter> renderWriter
+      = ThreadLocal.withInitial(StringBuilderWriter::new);
 
-  private volatile JavaMailSender mailSender;
-  private volatile EmailServer emailServer;
+  private final ApplicationInfo applicationInfo;
+  private final SmtpTransportPool smtpTransportPool;
+  private final EmailAttachmentCache emailAttachmentCache;
 
-  public EmailSender(ApplicationInfo applicationInfo) throws IOException {
+  public EmailSender(ApplicationInfo applicationInfo, SmtpTransportPool smtpTransportPool,
+      EmailAttachmentCache emailAttachmentCache) throws IOException {
     this.applicationInfo = applicationInfo;
+    this.smtpTransportPool = smtpTransportPool;
+    this.emailAttachmentCache = emailAttachmentCache;
     initAndRefreshTemplateConfiguration();
   }
 
@@ -70,14 +88,14 @@ public class EmailSender {
       Template baseTemplate = allTemplateConfig.getTemplate(
           getBaseTemplateKey(email.getLanguage(), email.getBizKey().isEventNotice()));
 
-      String bizContent = processTemplateIntoString(bizTemplate, addrParams);
-      String finalContent = processTemplateIntoString(baseTemplate, Map.of("content", bizContent));
+      String bizContent = render(bizTemplate, addrParams);
+      String finalContent = render(baseTemplate, Map.of("content", bizContent));
 
       helper.setText(finalContent, true);
     } else {
       helper.setText(email.getContent(), email.getHtml());
     }
-    mailSender.send(helper.getMimeMessage());
+    smtpTransportPool.send(emailServer, helper.getMimeMessage());
   }
 
   public void sendBatchMessage(EmailServer emailServer, EmailTemplate emailTemplate,
@@ -103,12 +121,12 @@ public class EmailSender {
         }
         Map<String, String> addrParams = email.getTemplateParamData()
             .getOrDefault(toAddr, emptyMap());
-        String bizContent = processTemplateIntoString(bizTemplate, addrParams);
-        String finalContent = processTemplateIntoString(baseTemplate,
-            Map.of("content", bizContent));
+        String bizContent = render(bizTemplate, addrParams);
+        String finalContent = render(baseTemplate, Map.of("content", bizContent));
 
         helper.setText(finalContent, true);
-        mailSender.send(helper.getMimeMessage());
+        // Recipients share the pooled connection instead of connecting per recipient
+        smtpTransportPool.send(emailServer, helper.getMimeMessage());
       } else {
         helper.setText(email.getContent(), email.getHtml());
       }
@@ -117,16 +135,39 @@ public class EmailSender {
 
   private Template getAndCachedTemplate(String content, Email email)
       throws Exception {
-    String bizTemplateKey = getBizTemplateKey(email);
-    // Cache biz template
-    templateLoader.putTemplate(bizTemplateKey, content);
-    // Return base template
-    return allTemplateConfig.getTemplate(bizTemplateKey);
+    // Parsed once per content, event notices are kept apart from the stored templates
+    return email.getBizKey().isEventNotice()
+        ? noticeTemplateCache.get(null, getBizTemplateKey(email), content)
+        : templateCache.get(email.getTemplateCode(), getBizTemplateKey(email), content);
+  }
+
+  /**
+   * Renders the template into a buffer reused by the sends of the current thread.
+   */
+  private String render(Template template, Object model) throws IOException, TemplateException {
+    StringBuilderWriter writer = renderWriter.get();
+    StringBuilder buffer = writer.getBuilder();
+    buffer.setLength(0);
+    template.process(model, writer);
+    String content = buffer.toString();
+    if (buffer.capacity() > MAX_REUSED_RENDER_CHARS) {
+      renderWriter.remove();
+    }
+    return content;
+  }
+
+  /**
+   * Drops the compiled templates of the template code, e.g. after the template is modified.
+   */
+  public void invalidateTemplate(String templateCode) {
+    log.info("Invalidate compiled email templates, templateCode {}", templateCode);
+    templateCache.invalidate(templateCode);
   }
 
   private MimeMessageHelper getMimeMessageHelper(EmailServer emailServer,
       Email email) throws Exception {
-    MimeMessage message = setupMailSender(emailServer).createMimeMessage();
+    Assert.assertNotNull(emailServer, "EmailServer is required");
+    MimeMessage message = new MimeMessage(smtpTransportPool.getSession(emailServer));
     MimeMessageHelper helper = new MimeMessageHelper(message, true, DEFAULT_ENCODING);
     helper.setFrom(email.getFromAddr());
     helper.setSubject(email.getSubject());
@@ -135,8 +176,9 @@ public class EmailSender {
     }
     if (isNotEmpty(email.getAttachmentData())) {
       for (Attachment attachment : email.getAttachmentData()) {
+        // Downloaded once for all messages and recipients of the attachment
         helper.addAttachment(MimeUtility.encodeWord(attachment.getName()),
-            new FileUrlResource(new java.net.URL(attachment.getUrl())));
+            emailAttachmentCache.getDataSource(attachment.getName(), attachment.getUrl()));
       }
     }
     return helper;
@@ -169,22 +211,12 @@ public class EmailSender {
         EVENT_NOTICE_TEMPLATE_KEY);
   }
 
-  public synchronized JavaMailSender setupMailSender(EmailServer emailServer) {
-    Assert.assertNotNull(emailServer, "EmailServer is required");
-    if (Objects.isNull(mailSender) || Objects.isNull(this.emailServer)
-        || !emailServer.equals(this.emailServer)) {
-      this.mailSender = initOrRefreshEmailSender(emailServer);
-      this.emailServer = emailServer;
-    }
-    return mailSender;
-  }
-
-  public synchronized JavaMailSender initOrRefreshEmailSender(EmailServer emailServer) {
-    log.info("Initialize or refresh email sender, emailServer {}", emailServer.getName());
-    JavaMailSenderImpl sender = new JavaMailSenderImpl();
-    sender.setSession(setupServerConfig(emailServer, 6 * 1000, 2 * 60 * 1000));
-    log.info("Initialize or refresh email sender complete, emailServer {}", emailServer.getName());
-    return sender;
+  /**
+   * Drops the pooled connections of previous configurations of the email server.
+   */
+  public void refreshEmailServer(EmailServer emailServer) {
+    log.info("Refresh email server connections, emailServer {}", emailServer.getName());
+    smtpTransportPool.refresh(emailServer);
   }
 
   /**
@@ -193,7 +225,8 @@ public class EmailSender {
    */
   public static Session setupServerConfig(EmailServer emailServer, int connectionTimeout,
       int writeTimeout) {
-    Properties properties = System.getProperties();
+    // Own session per server, a shared default session would keep the first server settings
+    Properties properties = new Properties(System.getProperties());
     properties.put("mail.transport.protocol", "smtp");
     properties.put("mail.smtp.socketFactory.fallback", "false");
     properties.put("mail.smtp.quitwait", "false");
@@ -217,7 +250,7 @@ public class EmailSender {
     if (emailServer.getSslEnabled()) {
       properties.put("mail.smtp.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
     }
-    return Session.getDefaultInstance(properties,
+    return Session.getInstance(properties,
         new jakarta.mail.Authenticator() {
           // override the getPasswordAuthentication
           @Override
@@ -0,0 +1,89 @@
+package cloud.xcan.angus.core.gm.infra.mail;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import java.io.IOException;
+import java.io.StringReader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compiled email templates keyed by the hash of their content.
+ *
+ * <p>Parsing a FreeMarker template costs far more than rendering it, a template is parsed once
+ * for all the emails and recipients sharing its content, and an edited template gets a new key
+ * instead of overwriting a shared loader entry. The least recently used templates are evicted
+ * beyond the maximum size, and the templates compiled for a template code are dropped when the
+ * template is modified. Thread-safe, compiled templates can be rendered concurrently.</p>
+ */
+public class EmailTemplateCache {
+
+  private final Configuration configuration;
+  private final Map<String, CachedTemplate> templates;
+
+  public EmailTemplateCache(Configuration configuration, int maxSize) {
+    this.configuration = configuration;
+    this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedTemplate> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the compiled template of the content, parsing it when not cached.
+   *
+   * @param templateCode Code of the template the content belongs to, null for contents not
+   *                     stored as templates, e.g. event notices
+   * @param name         Name of the template in error messages
+   */
+  public Template get(String templateCode, String name, String content) throws IOException {
+    String key = hash(content);
+    synchronized (this) {
+      CachedTemplate cached = templates.get(key);
+      if (cached != null) {
+        return cached.template;
+      }
+    }
+    // Parsed outside the lock, a concurrent parse of the same content is harmless
+    Template template = new Template(name, new StringReader(content), configuration);
+    synchronized (this) {
+      templates.put(key, new CachedTemplate(templateCode, template));
+    }
+    return template;
+  }
+
+  /**
+   * Drops the templates compiled for the template code, e.g. after it is modified.
+   */
+  public synchronized void invalidate(String templateCode) {
+    templates.values().removeIf(cached -> Objects.equals(cached.templateCode, templateCode));
+  }
+
+  private static String hash(String content) {
+    try {
+      return HexFormat.of().formatHex(
+          MessageDigest.getInstance("SHA-256").digest(content.getBytes(UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class CachedTemplate {
+
+    private final String templateCode;
+    private final Template template;
+
+    CachedTemplate(String templateCode, Template template) {
+      this.templateCode = templateCode;
+      this.template = template;
+    }
+  }
+}
@@ -0,0 +1,247 @@
+package cloud.xcan.angus.core.gm.infra.mail;
+
+import static cloud.xcan.angus.core.gm.infra.mail.EmailSender.setupServerConfig;
+
+import cloud.xcan.angus.core.gm.domain.email.server.EmailServer;
+import cloud.xcan.angus.core.gm.infra.config.EmailTransportProperties;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Long-lived SMTP connections shared by the emails sent over the same email server.
+ *
+ * <p>Opening an SMTP connection takes a TLS handshake and an authentication, usually most of the
+ * time of sending an email, and some servers throttle connection rates. Connections are kept
+ * per server configuration and reused, closed after
+ * {@link EmailTransportProperties#getMaxMessagesPerConnection()} emails or when idle too long,
+ * and checked with a NOOP before reuse after a short idle period. A send failing on a reused
+ * connection, e.g. closed by the server meanwhile, is retried once on a new connection.</p>
+ */
+@Slf4j
+public class SmtpTransportPool implements DisposableBean {
+
+  private final EmailTransportProperties properties;
+
+  /**
+   * Server configuration key to its connections, a changed configuration gets a new pool.
+   */
+  private final Map<String, ServerPool> pools = new ConcurrentHashMap<>();
+
+  private final ScheduledExecutorService evictExecutor;
+
+  public SmtpTransportPool(EmailTransportProperties properties) {
+    this.properties = properties;
+    this.evictExecutor = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("smtp-transport-evict-"));
+    long period = Math.max(1, properties.getIdleTimeoutSeconds() / 2);
+    this.evictExecutor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Returns the mail session of the server, messages sent by the pool are created with it.
+   */
+  public Session getSession(EmailServer server) {
+    return pool(server).session;
+  }
+
+  /**
+   * Sends the message to all its recipients over a pooled connection of the server.
+   */
+  public void send(EmailServer server, MimeMessage message) throws MessagingException {
+    ServerPool pool = pool(server);
+    if (message.getSentDate() == null) {
+      message.setSentDate(new Date());
+    }
+    message.saveChanges();
+    Address[] recipients = message.getAllRecipients();
+    for (int attempt = 0; ; attempt++) {
+      PooledTransport pooled = pool.borrow(attempt > 0);
+      try {
+        pooled.transport.sendMessage(message, recipients);
+        pool.release(pooled);
+        return;
+      } catch (SendFailedException e) {
+        // Addresses rejected by the server, the connection is still usable
+        pool.release(pooled);
+        throw e;
+      } catch (MessagingException e) {
+        close(pooled);
+        if (attempt > 0 || pooled.sentNum == 0) {
+          throw e;
+        }
+        log.debug("Send email over reused SMTP connection failed, retry on a new one: {}",
+            e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Retires the pools of previous configurations of the server, e.g. after it is modified. Idle
+   * connections are closed now, borrowed connections when they are released.
+   */
+  public void refresh(EmailServer server) {
+    String key = getKey(server);
+    String serverPrefix = server.getId() + ":";
+    for (Iterator<Map.Entry<String, ServerPool>> it = pools.entrySet().iterator();
+        it.hasNext(); ) {
+      Map.Entry<String, ServerPool> entry = it.next();
+      if (entry.getKey().startsWith(serverPrefix) && !entry.getKey().equals(key)) {
+        it.remove();
+        entry.getValue().retire();
+      }
+    }
+  }
+
+  private ServerPool pool(EmailServer server) {
+    return pools.computeIfAbsent(getKey(server), key -> {
+      Session session = setupServerConfig(server, properties.getConnectionTimeoutMillis(),
+          properties.getTimeoutMillis());
+      session.getProperties().put("mail.smtp.timeout",
+          String.valueOf(properties.getTimeoutMillis()));
+      return new ServerPool(session);
+    });
+  }
+
+  private void evictIdle() {
+    long idleTimeoutMillis = TimeUnit.SECONDS.toMillis(properties.getIdleTimeoutSeconds());
+    for (ServerPool pool : pools.values()) {
+      try {
+        pool.closeIdle(idleTimeoutMillis);
+      } catch (Exception e) {
+        log.warn("Evict idle SMTP connections exception: {}", e.getMessage());
+      }
+    }
+  }
+
+  private static String getKey(EmailServer server) {
+    return server.getId() + ":" + Objects.hash(server.getHost(), server.getPort(),
+        server.getSslEnabled(), server.getStartTlsEnabled(), server.getAuthEnabled(),
+        server.getAuthAccountData() == null ? null : server.getAuthAccountData().getAccount(),
+        server.getAuthAccountData() == null ? null : server.getAuthAccountData().getPassword());
+  }
+
+  private static void close(PooledTransport pooled) {
+    try {
+      pooled.transport.close();
+    } catch (MessagingException e) {
+      log.debug("Close SMTP connection exception: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    evictExecutor.shutdownNow();
+    for (ServerPool pool : pools.values()) {
+      pool.retire();
+    }
+    pools.clear();
+  }
+
+  private class ServerPool {
+
+    private final Session session;
+
+    /**
+     * Most recently used connection first, so surplus connections become idle and are closed.
+     */
+    private final Deque<PooledTransport> idle = new ArrayDeque<>();
+
+    /**
+     * Whether the pool was replaced or shut down, connections released to it are closed.
+     */
+    private boolean retired;
+
+    ServerPool(Session session) {
+      this.session = session;
+    }
+
+    PooledTransport borrow(boolean forceNew) throws MessagingException {
+      if (!forceNew) {
+        PooledTransport pooled;
+        while ((pooled = pollIdle()) != null) {
+          long idleMillis = System.currentTimeMillis() - pooled.lastUsedMillis;
+          // Connected check of SMTP transports sends a NOOP
+          if (idleMillis < properties.getValidateAfterIdleMillis()
+              || pooled.transport.isConnected()) {
+            return pooled;
+          }
+          close(pooled);
+        }
+      }
+      Transport transport = session.getTransport("smtp");
+      transport.connect();
+      return new PooledTransport(transport);
+    }
+
+    void release(PooledTransport pooled) {
+      pooled.sentNum++;
+      pooled.lastUsedMillis = System.currentTimeMillis();
+      if (pooled.sentNum < properties.getMaxMessagesPerConnection()) {
+        synchronized (this) {
+          if (!retired && idle.size() < properties.getMaxIdlePerServer()) {
+            idle.push(pooled);
+            return;
+          }
+        }
+      }
+      close(pooled);
+    }
+
+    synchronized PooledTransport pollIdle() {
+      return idle.poll();
+    }
+
+    void retire() {
+      synchronized (this) {
+        retired = true;
+      }
+      closeIdle(0);
+    }
+
+    void closeIdle(long idleTimeoutMillis) {
+      List<PooledTransport> expired = new ArrayList<>();
+      long now = System.currentTimeMillis();
+      synchronized (this) {
+        idle.removeIf(pooled -> {
+          if (now - pooled.lastUsedMillis >= idleTimeoutMillis) {
+            expired.add(pooled);
+            return true;
+          }
+          return false;
+        });
+      }
+      // QUIT outside the lock
+      expired.forEach(SmtpTransportPool::close);
+    }
+  }
+
+  private static class PooledTransport {
+
+    private final Transport transport;
+    private int sentNum;
+    private long lastUsedMillis = System.currentTimeMillis();
+
+    PooledTransport(Transport transport) {
+      this.transport = transport;
+    }
+  }
+}
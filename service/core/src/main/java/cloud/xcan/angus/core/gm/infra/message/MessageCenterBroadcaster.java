@@ -0,0 +1,135 @@
+package cloud.xcan.angus.core.gm.infra.message;
+
+import static cloud.xcan.angus.spec.utils.JsonUtils.toJson;
+
+import cloud.xcan.angus.api.enums.ReceiveObjectType;
+import cloud.xcan.angus.api.pojo.Message;
+import cloud.xcan.angus.core.gm.application.cmd.message.MessageCenterOnlineCmd;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Delivers message center pushes and offline requests to all GM instances with Redis pub/sub.
+ *
+ * <p>Recipients are resolved once by the publishing instance and the message is serialized once,
+ * every instance delivers it to the recipients connected to it by its local session index without
+ * querying the database. A push to all users carries no recipients and is delivered to all local
+ * sessions. When publishing fails the message is delivered to the sessions of this instance
+ * only.</p>
+ */
+@Slf4j
+public class MessageCenterBroadcaster implements MessageListener {
+
+  public static final String MESSAGE_CENTER_CHANNEL = "gm:message:center";
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Resource
+  private MessageNoticeService messageNoticeService;
+  @Resource
+  private MessageCenterOnlineCmd messageCenterOnlineCmd;
+
+  public MessageCenterBroadcaster(StringRedisTemplate stringRedisTemplate,
+      ObjectMapper objectMapper) {
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Pushes the message to the online users on all instances.
+   *
+   * @param usernames Recipient usernames, null to push to all online users
+   */
+  public void push(Collection<String> usernames, Message message) {
+    String jsonMessage = toJson(message);
+    assert jsonMessage != null;
+    Broadcast broadcast = new Broadcast().setType(BroadcastType.PUSH)
+        .setUsernames(usernames).setPayload(jsonMessage);
+    if (!publish(broadcast)) {
+      messageNoticeService.sendLocalUserMessage(usernames, jsonMessage);
+    }
+  }
+
+  /**
+   * Forces the users offline on all instances.
+   */
+  public void offline(ReceiveObjectType receiveObjectType, List<Long> receiveObjectIds) {
+    Broadcast broadcast = new Broadcast().setType(BroadcastType.OFFLINE)
+        .setReceiveObjectType(receiveObjectType).setReceiveObjectIds(receiveObjectIds);
+    if (!publish(broadcast)) {
+      messageCenterOnlineCmd.offline(receiveObjectType, receiveObjectIds);
+    }
+  }
+
+  private boolean publish(Broadcast broadcast) {
+    try {
+      stringRedisTemplate.convertAndSend(MESSAGE_CENTER_CHANNEL,
+          objectMapper.writeValueAsString(broadcast));
+      return true;
+    } catch (Exception e) {
+      log.error("Broadcast message center {} to all instances exception, handle it locally: {}",
+          broadcast.getType(), e.getMessage());
+      return false;
+    }
+  }
+
+  @Override
+  public void onMessage(org.springframework.data.redis.connection.Message message,
+      byte[] pattern) {
+    Broadcast broadcast;
+    try {
+      broadcast = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+          Broadcast.class);
+    } catch (Exception e) {
+      log.error("Parse message center broadcast exception: {}", e.getMessage());
+      return;
+    }
+    try {
+      if (BroadcastType.PUSH.equals(broadcast.getType())) {
+        messageNoticeService.sendLocalUserMessage(broadcast.getUsernames(),
+            broadcast.getPayload());
+      } else if (BroadcastType.OFFLINE.equals(broadcast.getType())) {
+        messageCenterOnlineCmd.offline(broadcast.getReceiveObjectType(),
+            broadcast.getReceiveObjectIds());
+      }
+    } catch (Exception e) {
+      log.error("Handle message center broadcast {} exception: ", broadcast.getType(), e);
+    }
+  }
+
+  public enum BroadcastType {
+    PUSH, OFFLINE
+  }
+
+  @Setter
+  @Getter
+  @Accessors(chain = true)
+  public static class Broadcast {
+
+    private BroadcastType type;
+
+    /**
+     * Recipient usernames of a push, null for all online users.
+     */
+    private Collection<String> usernames;
+
+    /**
+     * Serialized push message.
+     */
+    private String payload;
+
+    private ReceiveObjectType receiveObjectType;
+
+    private List<Long> receiveObjectIds;
+  }
+}
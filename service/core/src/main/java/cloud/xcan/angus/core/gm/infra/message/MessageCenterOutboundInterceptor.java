@@ -0,0 +1,187 @@
+package cloud.xcan.angus.core.gm.infra.message;
+
+import cloud.xcan.angus.core.gm.infra.config.MessageCenterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+/**
+ * Bounds and measures the frames sent to the message center sessions of this node.
+ *
+ * <p>Frames to clients are queued in the client outbound channel before they are written to the
+ * sessions. Notifications to a session with {@link MessageCenterProperties#getMaxPendingPerSession()}
+ * queued frames are dropped, so a slow client cannot hold a broadcast push in memory, and
+ * notifications queued longer than {@link MessageCenterProperties#getStaleNoticeMillis()} are
+ * dropped instead of sent late. Other frames, e.g. receipts and errors, are never dropped.
+ * Sessions not keeping up with the written frames are closed by the send time and buffer
+ * limits of the WebSocket transport.</p>
+ *
+ * <p>Metrics of the node:</p>
+ * <ul>
+ *   <li>{@code gm.message.center.outbound.pending}: frames queued and not yet written</li>
+ *   <li>{@code gm.message.center.outbound.send}: time from queuing to writing a frame</li>
+ *   <li>{@code gm.message.center.outbound.dropped}: dropped notifications by reason</li>
+ *   <li>{@code gm.message.center.session.terminated}: sessions closed by the send limits</li>
+ * </ul>
+ */
+@Slf4j
+public class MessageCenterOutboundInterceptor implements ExecutorChannelInterceptor {
+
+  /**
+   * Time a frame was queued, Simp messages are built without the timestamp header.
+   */
+  static final String ENQUEUED_MILLIS_HEADER = "gmEnqueuedMillis";
+
+  private final MessageCenterProperties properties;
+
+  /**
+   * Session ID to its queued frames, sessions without queued frames are removed.
+   */
+  private final Map<String, AtomicInteger> sessionPending = new ConcurrentHashMap<>();
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final Timer sendTimer;
+  private final Counter overflowDropped;
+  private final Counter staleDropped;
+  private final Counter terminated;
+
+  public MessageCenterOutboundInterceptor(MessageCenterProperties properties,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    Gauge.builder("gm.message.center.outbound.pending", pending, AtomicInteger::get)
+        .description("Frames queued for message center sessions and not yet written")
+        .register(meterRegistry);
+    this.sendTimer = Timer.builder("gm.message.center.outbound.send")
+        .description("Time from queuing to writing a frame to a message center session")
+        .register(meterRegistry);
+    this.overflowDropped = Counter.builder("gm.message.center.outbound.dropped")
+        .description("Notifications dropped instead of sent to message center sessions")
+        .tag("reason", "overflow").register(meterRegistry);
+    this.staleDropped = Counter.builder("gm.message.center.outbound.dropped")
+        .description("Notifications dropped instead of sent to message center sessions")
+        .tag("reason", "stale").register(meterRegistry);
+    this.terminated = Counter.builder("gm.message.center.session.terminated")
+        .description("Message center sessions closed by the send time or buffer limits")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    if (sessionId == null) {
+      return message;
+    }
+    int queued = sessionPending.compute(sessionId, (id, count) -> {
+      AtomicInteger count0 = count == null ? new AtomicInteger() : count;
+      count0.incrementAndGet();
+      return count0;
+    }).get();
+    if (queued > properties.getMaxPendingPerSession() && isNotice(message)) {
+      release(sessionId);
+      overflowDropped.increment();
+      log.debug("Drop notice to slow message center session {}", sessionId);
+      return null;
+    }
+    pending.incrementAndGet();
+    return stampEnqueued(message);
+  }
+
+  @Override
+  public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
+      Exception ex) {
+    if (!sent) {
+      // E.g. rejected by the full outbound queue
+      complete(message);
+    }
+  }
+
+  @Override
+  public Message<?> beforeHandle(Message<?> message, MessageChannel channel,
+      MessageHandler handler) {
+    long staleMillis = properties.getStaleNoticeMillis();
+    if (staleMillis > 0 && isNotice(message) && queuedMillis(message) > staleMillis) {
+      complete(message);
+      staleDropped.increment();
+      return null;
+    }
+    return message;
+  }
+
+  @Override
+  public void afterMessageHandled(Message<?> message, MessageChannel channel,
+      MessageHandler handler, Exception ex) {
+    long queuedMillis = queuedMillis(message);
+    if (queuedMillis >= 0) {
+      sendTimer.record(queuedMillis, TimeUnit.MILLISECONDS);
+    }
+    complete(message);
+  }
+
+  /**
+   * Decorates the WebSocket handler to count the sessions closed by the send limits.
+   */
+  public WebSocketHandler decorate(WebSocketHandler handler) {
+    return new WebSocketHandlerDecorator(handler) {
+      @Override
+      public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus)
+          throws Exception {
+        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+          terminated.increment();
+        }
+        super.afterConnectionClosed(session, closeStatus);
+      }
+    };
+  }
+
+  private void complete(Message<?> message) {
+    String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    if (sessionId != null) {
+      release(sessionId);
+      pending.decrementAndGet();
+    }
+  }
+
+  private void release(String sessionId) {
+    sessionPending.computeIfPresent(sessionId,
+        (id, queued) -> queued.decrementAndGet() <= 0 ? null : queued);
+  }
+
+  private static boolean isNotice(Message<?> message) {
+    return SimpMessageType.MESSAGE.equals(
+        SimpMessageHeaderAccessor.getMessageType(message.getHeaders()));
+  }
+
+  private static Message<?> stampEnqueued(Message<?> message) {
+    long now = System.currentTimeMillis();
+    MessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message,
+        MessageHeaderAccessor.class);
+    if (accessor != null && accessor.isMutable()) {
+      accessor.setHeader(ENQUEUED_MILLIS_HEADER, now);
+      return message;
+    }
+    return MessageBuilder.fromMessage(message).setHeader(ENQUEUED_MILLIS_HEADER, now).build();
+  }
+
+  private static long queuedMillis(Message<?> message) {
+    Object enqueuedMillis = message.getHeaders().get(ENQUEUED_MILLIS_HEADER);
+    return enqueuedMillis instanceof Long millis ? System.currentTimeMillis() - millis : -1;
+  }
+}
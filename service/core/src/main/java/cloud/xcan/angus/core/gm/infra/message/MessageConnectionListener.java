@@ -6,12 +6,13 @@ import static cloud.xcan.angus.security.model.SecurityConstant.INTROSPECTION_CLA
 import static cloud.xcan.angus.security.model.SecurityConstant.INTROSPECTION_CLAIM_NAMES_USERNAME;
 import static cloud.xcan.angus.spec.experimental.BizConstant.AuthKey.PRINCIPAL;
 
-import cloud.xcan.angus.core.gm.application.cmd.message.MessageCenterOnlineCmd;
+import cloud.xcan.angus.core.gm.domain.message.center.SessionPresence;
 import jakarta.annotation.Resource;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationListener;
@@ -22,6 +23,9 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 /**
  * Listen to all WebSocket events.
+ *
+ * <p>Local sessions are indexed by session ID and by username, so delivering to a user checks
+ * its sessions without scanning all sessions of the node.</p>
  */
 @Slf4j
 public class MessageConnectionListener implements ApplicationListener<AbstractSubProtocolEvent> {
@@ -30,8 +34,13 @@ public class MessageConnectionListener implements ApplicationListener<AbstractSu
   public static final Map<String, String> LOCAL_ONLINE_USERS = Collections.unmodifiableMap(
       LOCAL_ONLINE_USERS_INTERNAL);
 
+  /**
+   * Username to its local session IDs, users without sessions are removed.
+   */
+  private static final Map<String, Set<String>> LOCAL_USER_SESSIONS = new ConcurrentHashMap<>();
+
   @Resource
-  private MessageCenterOnlineCmd messageCenterOnlineCmd;
+  private PresenceAggregator presenceAggregator;
 
   @Override
   public void onApplicationEvent(AbstractSubProtocolEvent event) {
@@ -68,8 +77,14 @@ public class MessageConnectionListener implements ApplicationListener<AbstractSu
         .map(Object::toString).orElse("unknown");
 
     LOCAL_ONLINE_USERS_INTERNAL.put(sessionId, username);
-    messageCenterOnlineCmd.updateOnlineStatus(sessionId, username, userAgent, deviceId,
-        remoteAddress, true);
+    LOCAL_USER_SESSIONS.compute(username, (k, sessionIds) -> {
+      Set<String> result = sessionIds == null ? ConcurrentHashMap.newKeySet() : sessionIds;
+      result.add(sessionId);
+      return result;
+    });
+    presenceAggregator.connected(new SessionPresence().setSessionId(sessionId)
+        .setUsername(username).setUserAgent(userAgent).setDeviceId(deviceId)
+        .setRemoteAddress(remoteAddress));
     log.info("MessageCenter: {} connected，Session ID: {}", username, sessionId);
   }
 
@@ -77,9 +92,28 @@ public class MessageConnectionListener implements ApplicationListener<AbstractSu
     String sessionId = event.getSessionId();
     String username = LOCAL_ONLINE_USERS_INTERNAL.remove(sessionId);
     if (username != null) {
-      messageCenterOnlineCmd.updateOnlineStatus(sessionId, username, null, null, null, false);
+      LOCAL_USER_SESSIONS.computeIfPresent(username, (k, sessionIds) -> {
+        sessionIds.remove(sessionId);
+        return sessionIds.isEmpty() ? null : sessionIds;
+      });
+      presenceAggregator.disconnected(new SessionPresence().setSessionId(sessionId)
+          .setUsername(username));
       log.info("MessageCenter: {} disconnected，Session ID: {}", username, sessionId);
     }
   }
 
+  /**
+   * Returns whether the user has a session connected to this node.
+   */
+  public static boolean isLocalOnline(String username) {
+    return LOCAL_USER_SESSIONS.containsKey(username);
+  }
+
+  /**
+   * Returns the distinct usernames with sessions connected to this node.
+   */
+  public static Set<String> getLocalOnlineUsernames() {
+    return Collections.unmodifiableSet(LOCAL_USER_SESSIONS.keySet());
+  }
+
 }
@@ -0,0 +1,231 @@
+package cloud.xcan.angus.core.gm.infra.message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read and unread message counters of user inboxes in Redis.
+ *
+ * <p>Counters are loaded from the message records on the first read and then changed
+ * incrementally when messages are sent, read and deleted, changes are applied after the current
+ * transaction commits. Counters that are not loaded are not changed. Counters expire after a
+ * fixed period and are loaded again, which reconciles drifts, e.g. from records removed by the
+ * clear job or from changes racing with a load.</p>
+ *
+ * <p>The counter also records when broadcast messages were last sent and last merged into an
+ * inbox, so polling the counters does not query the database to merge broadcast messages.</p>
+ */
+@Slf4j
+public class MessageInboxCounter {
+
+  public static final String COUNT_KEY_PREFIX = "gm:message:inbox:count:";
+  public static final String SYNCED_KEY_PREFIX = "gm:message:inbox:synced:";
+  public static final String BROADCAST_SENT_KEY = "gm:message:broadcast:sent";
+
+  /**
+   * Lag of broadcast merges, broadcast messages sent earlier than the last merge minus the lag
+   * have been merged. A broadcast message may be committed shortly after its send date.
+   */
+  public static final long BROADCAST_SYNC_LAG_SECONDS = 60;
+
+  private static final String FIELD_READ = "read";
+  private static final String FIELD_UNREAD = "unread";
+
+  /**
+   * Counters are reconciled with the message records at least this often.
+   */
+  private static final long COUNT_EXPIRE_SECONDS = TimeUnit.HOURS.toSeconds(1);
+
+  private static final long SYNCED_EXPIRE_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+  /**
+   * Minimum interval of merging broadcast messages into an inbox while a broadcast message may
+   * not have been merged yet.
+   */
+  private static final long SYNC_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+  private static final int INCREMENT_BATCH_SIZE = 500;
+
+  private static final String LOAD_SCRIPT = """
+      if redis.call('EXISTS', KEYS[1]) == 0 then
+        redis.call('HSET', KEYS[1], 'read', ARGV[1], 'unread', ARGV[2])
+        redis.call('EXPIRE', KEYS[1], ARGV[3])
+      end
+      return 1
+      """;
+
+  private static final String INCREMENT_SCRIPT = """
+      for i, key in ipairs(KEYS) do
+        if redis.call('EXISTS', key) == 1 then
+          redis.call('HINCRBY', key, 'read', ARGV[1])
+          redis.call('HINCRBY', key, 'unread', ARGV[2])
+        end
+      end
+      return 1
+      """;
+
+  private final DefaultRedisScript<Long> loadScript
+      = new DefaultRedisScript<>(LOAD_SCRIPT, Long.class);
+  private final DefaultRedisScript<Long> incrementScript
+      = new DefaultRedisScript<>(INCREMENT_SCRIPT, Long.class);
+
+  private final StringRedisTemplate stringRedisTemplate;
+
+  public MessageInboxCounter(StringRedisTemplate stringRedisTemplate) {
+    this.stringRedisTemplate = stringRedisTemplate;
+  }
+
+  /**
+   * Returns the read and unread counts of the user, or null when they are not loaded or Redis is
+   * unavailable.
+   */
+  public long[] get(Long userId) {
+    try {
+      List<Object> values = stringRedisTemplate.opsForHash().multiGet(COUNT_KEY_PREFIX + userId,
+          List.of(FIELD_READ, FIELD_UNREAD));
+      if (values.size() != 2 || values.get(0) == null || values.get(1) == null) {
+        return null;
+      }
+      return new long[]{Math.max(0, Long.parseLong(values.get(0).toString())),
+          Math.max(0, Long.parseLong(values.get(1).toString()))};
+    } catch (Exception e) {
+      log.warn("Get inbox counts of user {} exception: {}", userId, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Loads the counts of the user counted from the message records.
+   */
+  public void load(Long userId, long read, long unread) {
+    try {
+      stringRedisTemplate.execute(loadScript, List.of(COUNT_KEY_PREFIX + userId),
+          String.valueOf(read), String.valueOf(unread), String.valueOf(COUNT_EXPIRE_SECONDS));
+    } catch (Exception e) {
+      log.warn("Load inbox counts of user {} exception: {}", userId, e.getMessage());
+    }
+  }
+
+  /**
+   * Counts messages sent to the users as unread.
+   */
+  public void sent(Collection<Long> userIds, long num) {
+    increment(userIds, 0, num);
+  }
+
+  /**
+   * Counts unread messages of the user as read.
+   */
+  public void read(Long userId, long num) {
+    increment(List.of(userId), num, -num);
+  }
+
+  /**
+   * Removes deleted messages of the user from the counts.
+   */
+  public void deleted(Long userId, long read, long unread) {
+    increment(List.of(userId), -read, -unread);
+  }
+
+  /**
+   * Drops the counts of the user to load them again, e.g. after messages are removed in bulk.
+   */
+  public void reset(Long userId) {
+    try {
+      stringRedisTemplate.delete(COUNT_KEY_PREFIX + userId);
+    } catch (Exception e) {
+      log.warn("Reset inbox counts of user {} exception: {}", userId, e.getMessage());
+    }
+  }
+
+  /**
+   * Records the send time of a broadcast message.
+   */
+  public void broadcastSent(long sendMillis) {
+    afterCommit(() -> stringRedisTemplate.opsForValue()
+        .set(BROADCAST_SENT_KEY, String.valueOf(sendMillis)));
+  }
+
+  /**
+   * Records that broadcast messages were merged into the inbox of the user.
+   */
+  public void broadcastSynced(Long userId, long syncMillis) {
+    afterCommit(() -> stringRedisTemplate.opsForValue().set(SYNCED_KEY_PREFIX + userId,
+        String.valueOf(syncMillis), SYNCED_EXPIRE_SECONDS, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Returns whether broadcast messages need to be merged into the inbox of the user.
+   */
+  public boolean isBroadcastSyncRequired(Long userId) {
+    try {
+      List<String> values = stringRedisTemplate.opsForValue()
+          .multiGet(List.of(SYNCED_KEY_PREFIX + userId, BROADCAST_SENT_KEY));
+      if (values == null || values.get(0) == null) {
+        return true;
+      }
+      long syncMillis = Long.parseLong(values.get(0));
+      if (values.get(1) == null || Long.parseLong(values.get(1))
+          < syncMillis - TimeUnit.SECONDS.toMillis(BROADCAST_SYNC_LAG_SECONDS)) {
+        return false;
+      }
+      return System.currentTimeMillis() - syncMillis >= SYNC_INTERVAL_MILLIS;
+    } catch (Exception e) {
+      log.warn("Check broadcast sync of user {} exception: {}", userId, e.getMessage());
+      return true;
+    }
+  }
+
+  private void increment(Collection<Long> userIds, long readDelta, long unreadDelta) {
+    if (userIds.isEmpty() || (readDelta == 0 && unreadDelta == 0)) {
+      return;
+    }
+    List<String> keys = new ArrayList<>(userIds.size());
+    for (Long userId : userIds) {
+      keys.add(COUNT_KEY_PREFIX + userId);
+    }
+    afterCommit(() -> {
+      for (int i = 0; i < keys.size(); i += INCREMENT_BATCH_SIZE) {
+        List<String> batch = keys.subList(i, Math.min(i + INCREMENT_BATCH_SIZE, keys.size()));
+        try {
+          stringRedisTemplate.execute(incrementScript, batch, String.valueOf(readDelta),
+              String.valueOf(unreadDelta));
+        } catch (Exception e) {
+          // E.g. keys in different slots of a Redis cluster, fall back to one call per key
+          for (String key : batch) {
+            stringRedisTemplate.execute(incrementScript, List.of(key), String.valueOf(readDelta),
+                String.valueOf(unreadDelta));
+          }
+        }
+      }
+    });
+  }
+
+  private void afterCommit(Runnable action) {
+    Runnable safeAction = () -> {
+      try {
+        action.run();
+      } catch (Exception e) {
+        // Reconciled when the counters expire
+        log.warn("Update inbox counters exception: {}", e.getMessage());
+      }
+    };
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          safeAction.run();
+        }
+      });
+    } else {
+      safeAction.run();
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package cloud.xcan.angus.core.gm.infra.message;
 
-import static cloud.xcan.angus.core.gm.infra.message.MessageConnectionListener.LOCAL_ONLINE_USERS;
+import static cloud.xcan.angus.core.gm.infra.message.MessageConnectionListener.getLocalOnlineUsernames;
+import static cloud.xcan.angus.core.gm.infra.message.MessageConnectionListener.isLocalOnline;
 import static cloud.xcan.angus.spec.utils.JsonUtils.toJson;
 import static cloud.xcan.angus.spec.utils.ObjectUtils.isNotEmpty;
 
@@ -34,13 +35,17 @@ public class MessageNoticeService {
    */
   public void sendUserMessage(Collection<String> usernames, Message message) {
     if (isNotEmpty(usernames)) {
+      String jsonMessage = null;
       for (String username : usernames) {
-        if (LOCAL_ONLINE_USERS.containsValue(username)) {
+        if (isLocalOnline(username)) {
           try {
-            String jsonMessage = toJson(message);
-            assert jsonMessage != null;
+            if (jsonMessage == null) {
+              // Serialized once for all recipients
+              jsonMessage = toJson(message);
+              assert jsonMessage != null;
+            }
             messagingTemplate.convertAndSendToUser(username, PRIVATE_USER_DESTINATION, jsonMessage);
-            log.info("Send notice message {}} : {}", username, message);
+            log.debug("Send notice message {} : {}", username, message);
           } catch (Exception e) {
             log.error("Send notice message to user[{}] exception: ", username, e);
           }
@@ -48,4 +53,21 @@ public class MessageNoticeService {
       }
     }
   }
+
+  /**
+   * Send a serialized message to the specified users connected to this node, or to all users
+   * connected to this node when the usernames are null.
+   */
+  public void sendLocalUserMessage(Collection<String> usernames, String jsonMessage) {
+    Collection<String> localUsernames = usernames == null ? getLocalOnlineUsernames() : usernames;
+    for (String username : localUsernames) {
+      if (isLocalOnline(username)) {
+        try {
+          messagingTemplate.convertAndSendToUser(username, PRIVATE_USER_DESTINATION, jsonMessage);
+        } catch (Exception e) {
+          log.error("Send notice message to user[{}] exception: ", username, e);
+        }
+      }
+    }
+  }
 }
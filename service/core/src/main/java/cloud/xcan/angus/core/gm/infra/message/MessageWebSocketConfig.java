@@ -1,20 +1,48 @@
 package cloud.xcan.angus.core.gm.infra.message;
 
+import static cloud.xcan.angus.core.gm.infra.message.MessageCenterBroadcaster.MESSAGE_CENTER_CHANNEL;
+
+import cloud.xcan.angus.core.gm.application.cmd.message.MessageCenterOnlineCmd;
 import cloud.xcan.angus.core.gm.application.cmd.message.impl.MessageCenterOnlineCmdImpl;
+import cloud.xcan.angus.core.gm.infra.config.MessageCenterProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
+@EnableConfigurationProperties({MessageCenterProperties.class})
 public class MessageWebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+  private static final long PRESENCE_FLUSH_INTERVAL_MILLIS = 300;
+
+  private final MessageCenterProperties messageCenterProperties;
+  private final MessageCenterOutboundInterceptor outboundInterceptor;
+
+  public MessageWebSocketConfig(MessageCenterProperties messageCenterProperties,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.messageCenterProperties = messageCenterProperties;
+    this.outboundInterceptor = new MessageCenterOutboundInterceptor(messageCenterProperties,
+        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+  }
+
   @Bean
   public MessageNoticeService messageCenterNoticeService() {
     return new MessageNoticeService();
@@ -25,6 +53,34 @@ public class MessageWebSocketConfig implements WebSocketMessageBrokerConfigurer
     return new MessageConnectionListener();
   }
 
+  @Bean
+  public PresenceAggregator messageCenterPresenceAggregator(
+      MessageCenterOnlineCmd messageCenterOnlineCmd) {
+    return new PresenceAggregator(messageCenterOnlineCmd, PRESENCE_FLUSH_INTERVAL_MILLIS);
+  }
+
+  @Bean
+  public MessageCenterBroadcaster messageCenterBroadcaster(
+      StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+    return new MessageCenterBroadcaster(stringRedisTemplate, objectMapper);
+  }
+
+  @Bean
+  public MessageInboxCounter messageInboxCounter(StringRedisTemplate stringRedisTemplate) {
+    return new MessageInboxCounter(stringRedisTemplate);
+  }
+
+  @Bean
+  public RedisMessageListenerContainer messageCenterListenerContainer(
+      RedisConnectionFactory redisConnectionFactory,
+      MessageCenterBroadcaster messageCenterBroadcaster) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(redisConnectionFactory);
+    container.addMessageListener(messageCenterBroadcaster,
+        new ChannelTopic(MESSAGE_CENTER_CHANNEL));
+    return container;
+  }
+
   @Override
   public void configureMessageBroker(MessageBrokerRegistry registry) {
     // Enable memory message proxy
@@ -39,6 +95,24 @@ public class MessageWebSocketConfig implements WebSocketMessageBrokerConfigurer
     registry.setUserDestinationPrefix("/user");
   }
 
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    // Close sessions whose client cannot keep up, instead of buffering frames without limit
+    registration.setSendTimeLimit(messageCenterProperties.getSendTimeLimitMillis())
+        .setSendBufferSizeLimit(messageCenterProperties.getSendBufferSizeLimit())
+        .addDecoratorFactory(outboundInterceptor::decorate);
+  }
+
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    // Bounded outbound queue, notifications to slow sessions are dropped before it fills up
+    registration.taskExecutor()
+        .corePoolSize(messageCenterProperties.getOutboundPoolSize())
+        .maxPoolSize(messageCenterProperties.getOutboundPoolSize())
+        .queueCapacity(messageCenterProperties.getOutboundQueueCapacity());
+    registration.interceptors(outboundInterceptor);
+  }
+
   @Override
   public void registerStompEndpoints(StompEndpointRegistry registry) {
     // Configure WebSocket endpoint and add token interceptor
@@ -0,0 +1,100 @@
+package cloud.xcan.angus.core.gm.infra.message;
+
+import static cloud.xcan.angus.core.gm.infra.message.MessageConnectionListener.isLocalOnline;
+
+import cloud.xcan.angus.core.gm.application.cmd.message.MessageCenterOnlineCmd;
+import cloud.xcan.angus.core.gm.domain.message.center.SessionPresence;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Coalesces online status changes of message center sessions and writes them in batches.
+ *
+ * <p>Connects and disconnects are only recorded in memory and flushed periodically with one
+ * batch update, so the STOMP connection setup does not wait for the database and reconnect
+ * storms do not turn into one write per session. A session that connects and disconnects within
+ * the same flush interval is not written at all. A user is marked offline only when none of its
+ * sessions on this node remain.</p>
+ */
+@Slf4j
+public class PresenceAggregator implements DisposableBean {
+
+  private final MessageCenterOnlineCmd messageCenterOnlineCmd;
+  private final ScheduledExecutorService flushExecutor;
+
+  private final Object lock = new Object();
+  private Map<String, SessionPresence> connected = new LinkedHashMap<>();
+  private Map<String, SessionPresence> disconnected = new LinkedHashMap<>();
+
+  /**
+   * @param flushIntervalMillis Interval of writing the coalesced changes
+   */
+  public PresenceAggregator(MessageCenterOnlineCmd messageCenterOnlineCmd,
+      long flushIntervalMillis) {
+    this.messageCenterOnlineCmd = messageCenterOnlineCmd;
+    this.flushExecutor = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("message-presence-flush-"));
+    this.flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMillis,
+        flushIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  public void connected(SessionPresence session) {
+    synchronized (lock) {
+      connected.put(session.getSessionId(), session);
+    }
+  }
+
+  public void disconnected(SessionPresence session) {
+    synchronized (lock) {
+      if (connected.remove(session.getSessionId()) == null) {
+        disconnected.put(session.getSessionId(), session);
+      }
+      // Else flapped within the flush interval, nothing was written for the session
+    }
+  }
+
+  private void flush() {
+    Map<String, SessionPresence> onlineSessions;
+    Map<String, SessionPresence> offlineSessions;
+    synchronized (lock) {
+      if (connected.isEmpty() && disconnected.isEmpty()) {
+        return;
+      }
+      onlineSessions = connected;
+      offlineSessions = disconnected;
+      connected = new LinkedHashMap<>();
+      disconnected = new LinkedHashMap<>();
+    }
+
+    Set<String> offlineUsernames = new LinkedHashSet<>();
+    for (SessionPresence session : offlineSessions.values()) {
+      if (!isLocalOnline(session.getUsername())) {
+        offlineUsernames.add(session.getUsername());
+      }
+    }
+    try {
+      messageCenterOnlineCmd.updatePresence(new ArrayList<>(onlineSessions.values()),
+          new ArrayList<>(offlineSessions.values()), offlineUsernames);
+    } catch (Exception e) {
+      log.error("Flush {} online and {} offline message center sessions exception: ",
+          onlineSessions.size(), offlineSessions.size(), e);
+    }
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    flushExecutor.shutdown();
+    flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    // Write the changes of the last interval
+    flush();
+  }
+}
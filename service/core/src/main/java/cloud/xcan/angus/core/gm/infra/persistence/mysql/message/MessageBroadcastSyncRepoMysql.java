@@ -0,0 +1,10 @@
+package cloud.xcan.angus.core.gm.infra.persistence.mysql.message;
+
+import cloud.xcan.angus.core.gm.domain.message.MessageBroadcastSyncRepo;
+import org.springframework.stereotype.Repository;
+
+
+@Repository
+public interface MessageBroadcastSyncRepoMysql extends MessageBroadcastSyncRepo {
+
+}
@@ -0,0 +1,10 @@
+package cloud.xcan.angus.core.gm.infra.persistence.postgres.message;
+
+import cloud.xcan.angus.core.gm.domain.message.MessageBroadcastSyncRepo;
+import org.springframework.stereotype.Repository;
+
+
+@Repository
+public interface MessageBroadcastSyncRepoPostgres extends MessageBroadcastSyncRepo {
+
+}
@@ -0,0 +1,80 @@
+package cloud.xcan.angus.core.gm.infra.remote.push;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint circuit breaker of push targets.
+ *
+ * <p>After a number of consecutive failures an endpoint is opened and pushes to it fail fast
+ * without a network call. When the open period has elapsed a single trial push is let through,
+ * its outcome closes the circuit or opens it again. Only endpoints with recent failures are
+ * tracked, the number of tracked endpoints is bounded.</p>
+ */
+public class EndpointCircuitBreaker {
+
+  private final int failureThreshold;
+  private final long openMillis;
+  private final Cache<String, EndpointState> states;
+
+  public EndpointCircuitBreaker(int failureThreshold, long openSeconds, long maxEndpoints) {
+    this.failureThreshold = failureThreshold;
+    this.openMillis = TimeUnit.SECONDS.toMillis(openSeconds);
+    this.states = CacheBuilder.newBuilder()
+        .maximumSize(maxEndpoints)
+        // Forget endpoints without failures for a long time
+        .expireAfterAccess(Math.max(openSeconds * 10, 600), TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * Returns false when pushes to the endpoint must be short-circuited.
+   */
+  public boolean allowRequest(String endpoint) {
+    if (failureThreshold <= 0) {
+      return true;
+    }
+    EndpointState state = states.getIfPresent(endpoint);
+    return state == null || state.tryAcquire(openMillis);
+  }
+
+  public void onSuccess(String endpoint) {
+    if (failureThreshold > 0) {
+      states.invalidate(endpoint);
+    }
+  }
+
+  public void onFailure(String endpoint) {
+    if (failureThreshold <= 0) {
+      return;
+    }
+    EndpointState state = states.asMap().computeIfAbsent(endpoint, k -> new EndpointState());
+    state.failed(failureThreshold, openMillis);
+  }
+
+  private static class EndpointState {
+
+    private int failures;
+    private long openUntil;
+
+    synchronized boolean tryAcquire(long openMillis) {
+      if (openUntil == 0) {
+        return true;
+      }
+      long now = System.currentTimeMillis();
+      if (now < openUntil) {
+        return false;
+      }
+      // Half open: let this request through and keep others out until it completes or times out
+      openUntil = now + openMillis;
+      return true;
+    }
+
+    synchronized void failed(int failureThreshold, long openMillis) {
+      if (++failures >= failureThreshold) {
+        openUntil = System.currentTimeMillis() + openMillis;
+      }
+    }
+  }
+}
@@ -7,8 +7,10 @@ import feign.Contract;
 import feign.Feign;
 import feign.codec.Decoder;
 import feign.codec.Encoder;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -20,7 +22,8 @@ public class FeignRemoteFactory {
   private final Contract contract;
   private final FeignInnerApiAuthInterceptor feignInnerApiAuthInterceptor;
 
-  private final Map<String, DynamicFeignClient> clients = new ConcurrentHashMap<>();
+  private final Cache<String, DynamicFeignClient> clients = CacheBuilder.newBuilder()
+      .maximumSize(256).expireAfterAccess(30, TimeUnit.MINUTES).build();
 
   public FeignRemoteFactory(Client client, Encoder encoder, Decoder decoder, Contract contract,
       FeignInnerApiAuthInterceptor feignInnerApiAuthInterceptor) {
@@ -32,14 +35,13 @@ public class FeignRemoteFactory {
   }
 
   public DynamicFeignClient dynamicClient(String url) {
-    if (clients.containsKey(url)) {
-      return clients.get(url);
+    try {
+      return clients.get(url, () -> Feign.builder().client(client)
+          .encoder(encoder).decoder(decoder).contract(contract)
+          .requestInterceptor(feignInnerApiAuthInterceptor)
+          .target(DynamicFeignClient.class, url));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
     }
-    DynamicFeignClient dynamicFeignClient = Feign.builder().client(client)
-        .encoder(encoder).decoder(decoder).contract(contract)
-        .requestInterceptor(feignInnerApiAuthInterceptor)
-        .target(DynamicFeignClient.class, url);
-    clients.put(url, dynamicFeignClient);
-    return dynamicFeignClient;
   }
 }
@@ -0,0 +1,125 @@
+package cloud.xcan.angus.core.gm.infra.remote.push;
+
+import cloud.xcan.angus.core.gm.infra.config.EventPushProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * HTTP transport of webhook, DingTalk and WeChat pushes.
+ *
+ * <p>All push targets share one client with a bounded keep-alive connection pool, HTTP/2 is
+ * negotiated with targets supporting it. Endpoints failing repeatedly are short-circuited by an
+ * {@link EndpointCircuitBreaker} so dead webhooks do not hold push workers for a read timeout
+ * on every retry.</p>
+ */
+public class PushHttpTransport implements DisposableBean {
+
+  /**
+   * Query parameters differing on every call, the robot access token and key identify the
+   * endpoint and are kept.
+   */
+  private static final List<String> PER_CALL_QUERY_PARAMS = List.of("timestamp", "sign");
+
+  private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+  private final OkHttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final EndpointCircuitBreaker circuitBreaker;
+
+  public PushHttpTransport(ObjectMapper objectMapper, EventPushProperties properties) {
+    this.objectMapper = objectMapper;
+    this.httpClient = new OkHttpClient.Builder()
+        .connectionPool(new ConnectionPool(properties.getHttpMaxIdleConnections(),
+            properties.getHttpKeepAliveSeconds(), TimeUnit.SECONDS))
+        .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+        .connectTimeout(properties.getHttpConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+        .readTimeout(properties.getHttpReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+        .writeTimeout(properties.getHttpReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+        .retryOnConnectionFailure(false)
+        .build();
+    this.circuitBreaker = new EndpointCircuitBreaker(properties.getCircuitFailureThreshold(),
+        properties.getCircuitOpenSeconds(), properties.getCircuitMaxEndpoints());
+  }
+
+  /**
+   * Posts the body as JSON and discards the response.
+   */
+  public void post(String url, Object body) throws IOException {
+    execute(url, body);
+  }
+
+  /**
+   * Posts the body as JSON and returns the JSON response of robot APIs.
+   */
+  public Map<?, ?> postForMap(String url, Object body) throws IOException {
+    String response = execute(url, body);
+    return response.isEmpty() ? Map.of() : objectMapper.readValue(response, Map.class);
+  }
+
+  private String execute(String url, Object body) throws IOException {
+    String endpoint = getEndpoint(url);
+    if (!circuitBreaker.allowRequest(endpoint)) {
+      throw new IOException(
+          "Push endpoint is unavailable, short-circuited after consecutive failures");
+    }
+    Request request = new Request.Builder().url(url)
+        .post(RequestBody.create(objectMapper.writeValueAsBytes(body), JSON))
+        .build();
+    int status;
+    String content;
+    try (Response response = httpClient.newCall(request).execute()) {
+      ResponseBody responseBody = response.body();
+      status = response.code();
+      content = responseBody != null ? responseBody.string() : "";
+    } catch (IOException e) {
+      // Connect or read failure, e.g. unknown host, refused connection or timeout
+      circuitBreaker.onFailure(endpoint);
+      throw e;
+    }
+    if (status >= 500 || status == 404) {
+      circuitBreaker.onFailure(endpoint);
+    } else {
+      // Client errors are caused by the request, the endpoint itself is alive
+      circuitBreaker.onSuccess(endpoint);
+    }
+    if (status < 200 || status >= 300) {
+      throw new IOException("Push endpoint responded with status " + status);
+    }
+    return content;
+  }
+
+  /**
+   * Returns the endpoint of the URL without the per-call query parameters, e.g. the timestamp and
+   * signature of DingTalk robots, so all calls to an endpoint share its circuit.
+   */
+  static String getEndpoint(String url) {
+    HttpUrl httpUrl = HttpUrl.parse(url);
+    if (httpUrl == null) {
+      return url;
+    }
+    HttpUrl.Builder builder = httpUrl.newBuilder().fragment(null);
+    for (String name : PER_CALL_QUERY_PARAMS) {
+      builder.removeAllQueryParameters(name);
+    }
+    return builder.build().toString();
+  }
+
+  @Override
+  public void destroy() {
+    httpClient.dispatcher().executorService().shutdown();
+    httpClient.connectionPool().evictAll();
+  }
+}
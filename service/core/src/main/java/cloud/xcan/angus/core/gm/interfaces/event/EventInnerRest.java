@@ -16,12 +16,12 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Size;
 import java.util.List;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "Event Internal", description = "Internal REST API endpoints for external systems to programmatically submit event data")
@@ -36,11 +36,16 @@ public class EventInnerRest {
 
   @Operation(summary = "Submit multiple events from external systems", operationId = "event:add:inner")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "201", description = "Events submitted successfully")})
-  @ResponseStatus(HttpStatus.CREATED)
+      @ApiResponse(responseCode = "201", description = "Events submitted successfully"),
+      @ApiResponse(responseCode = "202", description = "Events accepted and stored in the background")})
   @PostMapping
-  public ApiLocaleResult<List<IdKey<Long, Object>>> add(
+  public ResponseEntity<ApiLocaleResult<List<IdKey<Long, Object>>>> add(
       @Valid @Size(max = MAX_BATCH_SIZE) @RequestBody List<EventContent> eventContents) {
-    return ApiLocaleResult.success(eventFacade.add(eventContents));
+    if (eventFacade.addBuffered(eventContents)) {
+      // Ids are assigned when the events are stored
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiLocaleResult.success(List.of()));
+    }
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(ApiLocaleResult.success(eventFacade.add(eventContents)));
   }
 }
@@ -14,6 +14,8 @@ public interface EventFacade {
 
   List<IdKey<Long, Object>> add(List<EventContent> eventContents);
 
+  boolean addBuffered(List<EventContent> eventContents);
+
   EventDetailVo detail(Long id);
 
   List<EventReceiveChannelVo> receiveChannel(String eventCode);
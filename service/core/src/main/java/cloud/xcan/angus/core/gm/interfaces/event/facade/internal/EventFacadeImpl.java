@@ -18,6 +18,7 @@ import cloud.xcan.angus.core.gm.domain.email.template.EventTemplate;
 import cloud.xcan.angus.core.gm.domain.event.Event;
 import cloud.xcan.angus.core.gm.domain.event.ReceiveChannelType;
 import cloud.xcan.angus.core.gm.domain.event.channel.EventChannel;
+import cloud.xcan.angus.core.gm.infra.event.EventIngestionBuffer;
 import cloud.xcan.angus.core.gm.interfaces.event.facade.EventFacade;
 import cloud.xcan.angus.core.gm.interfaces.event.facade.dto.EventFindDto;
 import cloud.xcan.angus.core.gm.interfaces.event.facade.internal.assembler.EventChannelAssembler;
@@ -50,6 +51,9 @@ public class EventFacadeImpl implements EventFacade {
   @Resource
   private EventChannelQuery eventChannelQuery;
 
+  @Resource
+  private EventIngestionBuffer eventIngestionBuffer;
+
   @Value("${xcan.event.gmApiUrlPrefix}")
   private String eventUrlPrefix;
 
@@ -58,6 +62,11 @@ public class EventFacadeImpl implements EventFacade {
     return eventCmd.add(toAddDomain(eventContents));
   }
 
+  @Override
+  public boolean addBuffered(List<EventContent> eventContents) {
+    return eventIngestionBuffer.offer(eventContents);
+  }
+
   @Override
   public EventDetailVo detail(Long id) {
     return toDetailVo(eventQuery.detail(id), eventUrlPrefix);
@@ -10,6 +10,7 @@ import cloud.xcan.angus.core.biz.NameJoin;
 import cloud.xcan.angus.core.gm.application.cmd.message.MessageCurrentCmd;
 import cloud.xcan.angus.core.gm.application.query.message.MessageCurrentQuery;
 import cloud.xcan.angus.core.gm.domain.message.MessageSent;
+import cloud.xcan.angus.core.gm.infra.message.MessageInboxCounter;
 import cloud.xcan.angus.core.gm.interfaces.message.facade.MessageCurrentFacade;
 import cloud.xcan.angus.core.gm.interfaces.message.facade.dto.MessageCurrentFindDto;
 import cloud.xcan.angus.core.gm.interfaces.message.facade.internal.assembler.MessageCurrentAssembler;
@@ -20,10 +21,12 @@ import cloud.xcan.angus.remote.PageResult;
 import jakarta.annotation.Resource;
 import java.util.List;
 import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
 
+@Slf4j
 @Component
 public class MessageCurrentFacadeImpl implements MessageCurrentFacade {
 
@@ -33,6 +36,9 @@ public class MessageCurrentFacadeImpl implements MessageCurrentFacade {
   @Resource
   private MessageCurrentQuery messageQuery;
 
+  @Resource
+  private MessageInboxCounter messageInboxCounter;
+
   @Override
   public void delete(Set<Long> ids) {
     messageCurrentCmd.delete(ids);
@@ -53,12 +59,29 @@ public class MessageCurrentFacadeImpl implements MessageCurrentFacade {
   @NameJoin
   @Override
   public PageResult<MessageCurrentVo> list(MessageCurrentFindDto dto) {
+    Long userId = getUserId();
+    if (messageInboxCounter.isBroadcastSyncRequired(userId)) {
+      syncBroadcastMessages(userId);
+    }
     Page<MessageSent> page = messageQuery.list(getSpecification(dto), dto.tranPage());
     return buildVoPageResult(page, MessageCurrentAssembler::toVo);
   }
 
   @Override
   public List<MessageStatusCountVo> statusCount(Long userId) {
-    return messageQuery.statusCount(nullSafe(userId, getUserId()));
+    Long receiveUserId = nullSafe(userId, getUserId());
+    if (messageInboxCounter.isBroadcastSyncRequired(receiveUserId)) {
+      syncBroadcastMessages(receiveUserId);
+    }
+    return messageQuery.statusCount(receiveUserId);
+  }
+
+  private void syncBroadcastMessages(Long userId) {
+    try {
+      messageCurrentCmd.syncBroadcastMessages(userId);
+    } catch (Exception e) {
+      // Merged again on the next read
+      log.warn("Sync broadcast messages of user {} exception: {}", userId, e.getMessage());
+    }
   }
 }
@@ -695,11 +695,13 @@ CREATE TABLE `event_push` (
   `push` int(1) NOT NULL COMMENT '发送状态',
   `push_msg` varchar(200) COLLATE utf8mb4_bin DEFAULT NULL COMMENT '推送结果消息',
   `retry_times` bigint(20) NOT NULL COMMENT '重试次数',
+  `next_retry_at` datetime DEFAULT NULL COMMENT '下次推送时间',
   PRIMARY KEY (`id`) USING BTREE,
   KEY `idx_event_id` (`event_id`) USING BTREE,
   KEY `idx_type` (`type`) USING BTREE,
   KEY `idx_push` (`push`) USING BTREE,
-  KEY `idx_retry_times` (`retry_times`) USING BTREE
+  KEY `idx_retry_times` (`retry_times`) USING BTREE,
+  KEY `idx_push_next_retry_at` (`push`,`next_retry_at`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin ROW_FORMAT=DYNAMIC COMMENT='事件推送表';
 
 -- ----------------------------
@@ -869,6 +871,7 @@ CREATE TABLE `message` (
   `status` varchar(16) COLLATE utf8mb4_bin NOT NULL DEFAULT '1' COMMENT '消息状态：PENDING-待发送；SENT-已发送',
   `failure_reason` varchar(200) COLLATE utf8mb4_bin DEFAULT NULL COMMENT '消息发送失败原因',
   `sent_num` int(11) NOT NULL DEFAULT '0' COMMENT '已发送人数',
+  `sent_user_cursor` bigint(20) DEFAULT NULL COMMENT '已发送的最后接收用户ID，分批发送时从其后继续',
   `read_num` int(11) NOT NULL DEFAULT '0' COMMENT '已阅读人数',
   `send_date` datetime DEFAULT '2001-01-01 00:00:00' COMMENT '实际发送时间',
   `deleted` int(1) NOT NULL DEFAULT '0' COMMENT '删除标识',
@@ -895,9 +898,21 @@ CREATE TABLE `message` (
   KEY `idx_status` (`status`) USING BTREE,
   KEY `idx_summary_group` (`created_date`,`receive_type`,`status`) USING BTREE,
   KEY `idx_summary_tenant_group` (`tenant_id`,`created_date`,`receive_type`,`status`) USING BTREE,
+  KEY `idx_broadcast` (`receive_object_type`,`send_date`) USING BTREE,
   FULLTEXT KEY `fx_title` (`title`) /*!50100 WITH PARSER `ngram` */
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin COMMENT='消息表';
 
+-- ----------------------------
+-- Table structure for message_broadcast_sync
+-- ----------------------------
+DROP TABLE IF EXISTS `message_broadcast_sync`;
+CREATE TABLE `message_broadcast_sync` (
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `tenant_id` bigint(20) NOT NULL DEFAULT '-1' COMMENT '租户ID',
+  `synced_date` datetime NOT NULL DEFAULT '2001-01-01 00:00:00' COMMENT '广播消息已同步至该时间',
+  PRIMARY KEY (`user_id`) USING BTREE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin COMMENT='广播消息同步位置表';
+
 -- ----------------------------
 -- Table structure for message_center_online
 -- ----------------------------
@@ -940,6 +955,7 @@ CREATE TABLE `message_sent` (
   `deleted_date` datetime DEFAULT '2001-01-01 00:00:00' COMMENT '删除时间',
   `created_date` datetime NOT NULL DEFAULT '2001-01-01 00:00:00' COMMENT '创建时间',
   PRIMARY KEY (`id`) USING BTREE,
+  UNIQUE KEY `uidx_message_receive_user_id` (`message_id`,`receive_user_id`) USING BTREE,
   KEY `idx_message_id` (`message_id`) USING BTREE,
   KEY `idx_receive_tenant_id` (`receive_tenant_id`) USING BTREE,
   KEY `idx_receive_user_id` (`receive_user_id`) USING BTREE,
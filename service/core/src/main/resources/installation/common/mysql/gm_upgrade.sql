@@ -0,0 +1,40 @@
+-- @formatter:off
+
+-- Upgrade the schema and data of an existing installation to the current gm_schema.sql,
+-- run once before the new version is started.
+
+-- ----------------------------
+-- Scheduled retries of event_push
+-- ----------------------------
+ALTER TABLE `event_push`
+  ADD COLUMN `next_retry_at` datetime DEFAULT NULL COMMENT '下次推送时间' AFTER `retry_times`,
+  ADD KEY `idx_push_next_retry_at` (`push`,`next_retry_at`) USING BTREE;
+
+-- NULL marks pushes without a next attempt, make the unpushed rows within the former retry cap due
+UPDATE `event_push` SET `next_retry_at` = NOW() WHERE `push` = 0 AND `next_retry_at` IS NULL AND `retry_times` <= 2;
+
+-- ----------------------------
+-- Broadcast site messages merged on read
+-- ----------------------------
+ALTER TABLE `message`
+  ADD KEY `idx_broadcast` (`receive_object_type`,`send_date`) USING BTREE;
+
+CREATE TABLE IF NOT EXISTS `message_broadcast_sync` (
+  `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+  `tenant_id` bigint(20) NOT NULL DEFAULT '-1' COMMENT '租户ID',
+  `synced_date` datetime NOT NULL DEFAULT '2001-01-01 00:00:00' COMMENT '广播消息已同步至该时间',
+  PRIMARY KEY (`user_id`) USING BTREE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin COMMENT='广播消息同步位置表';
+
+-- Keep the earliest record of a message per user before the unique key is added
+DELETE s1 FROM `message_sent` s1 INNER JOIN `message_sent` s2
+  ON s1.`message_id` = s2.`message_id` AND s1.`receive_user_id` = s2.`receive_user_id` AND s1.`id` > s2.`id`;
+
+ALTER TABLE `message_sent`
+  ADD UNIQUE KEY `uidx_message_receive_user_id` (`message_id`,`receive_user_id`) USING BTREE;
+
+-- ----------------------------
+-- Resumable chunked sending of site messages
+-- ----------------------------
+ALTER TABLE `message`
+  ADD COLUMN `sent_user_cursor` bigint(20) DEFAULT NULL COMMENT '已发送的最后接收用户ID，分批发送时从其后继续' AFTER `sent_num`;
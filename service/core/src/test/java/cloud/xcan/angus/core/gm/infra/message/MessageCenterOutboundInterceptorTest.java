@@ -0,0 +1,87 @@
+package cloud.xcan.angus.core.gm.infra.message;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import cloud.xcan.angus.core.gm.infra.config.MessageCenterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+class MessageCenterOutboundInterceptorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private MessageCenterProperties properties;
+  private MessageCenterOutboundInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    properties = new MessageCenterProperties().setStaleNoticeMillis(50);
+    interceptor = new MessageCenterOutboundInterceptor(properties, meterRegistry);
+  }
+
+  @Test
+  void recordsSendTimeOfSimpMessages() {
+    Message<?> queued = interceptor.preSend(notice("session-1", false), null);
+    assertNotNull(queued);
+    assertNotNull(queued.getHeaders().get(MessageCenterOutboundInterceptor.ENQUEUED_MILLIS_HEADER));
+
+    Message<?> handled = interceptor.beforeHandle(queued, null, null);
+    assertNotNull(handled);
+    interceptor.afterMessageHandled(handled, null, null, null);
+
+    assertEquals(1, meterRegistry.get("gm.message.center.outbound.send").timer().count());
+    assertEquals(0, meterRegistry.get("gm.message.center.outbound.pending").gauge().value());
+  }
+
+  @Test
+  void stampsImmutableSimpMessages() {
+    Message<?> queued = interceptor.preSend(notice("session-1", true), null);
+    assertNotNull(queued);
+    assertNotNull(queued.getHeaders().get(MessageCenterOutboundInterceptor.ENQUEUED_MILLIS_HEADER));
+    assertEquals("session-1", SimpMessageHeaderAccessor.getSessionId(queued.getHeaders()));
+  }
+
+  @Test
+  void dropsStaleNotices() throws InterruptedException {
+    Message<?> queued = interceptor.preSend(notice("session-1", false), null);
+    Thread.sleep(properties.getStaleNoticeMillis() + 20);
+
+    assertNull(interceptor.beforeHandle(queued, null, null));
+    assertEquals(1, meterRegistry.get("gm.message.center.outbound.dropped")
+        .tag("reason", "stale").counter().count());
+    assertEquals(0, meterRegistry.get("gm.message.center.outbound.pending").gauge().value());
+  }
+
+  @Test
+  void dropsNoticesOverSessionLimit() {
+    properties.setMaxPendingPerSession(1);
+    assertNotNull(interceptor.preSend(notice("session-1", false), null));
+    assertNull(interceptor.preSend(notice("session-1", false), null));
+    assertEquals(1, meterRegistry.get("gm.message.center.outbound.dropped")
+        .tag("reason", "overflow").counter().count());
+  }
+
+  /**
+   * Built like the messages of the simple broker, without the timestamp header.
+   */
+  private static Message<byte[]> notice(String sessionId, boolean immutable) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    accessor.setSessionId(sessionId);
+    accessor.setDestination("/user/queue/message");
+    if (!immutable) {
+      accessor.setLeaveMutable(true);
+    }
+    MessageHeaders headers = accessor.getMessageHeaders();
+    Message<byte[]> message = MessageBuilder.createMessage(new byte[0], headers);
+    assertNull(message.getHeaders().getTimestamp());
+    return message;
+  }
+}
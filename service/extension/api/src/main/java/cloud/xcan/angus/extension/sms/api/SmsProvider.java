@@ -8,6 +8,8 @@ import cloud.xcan.angus.plugin.api.ExtensionPersistencePoint;
 import cloud.xcan.angus.spec.experimental.SimpleResult;
 import cloud.xcan.angus.spec.utils.IOUtils;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 
@@ -18,6 +20,20 @@ public interface SmsProvider extends ExtensionPersistencePoint {
    */
   SimpleResult sendSms(Sms sms, MessageChannel channel);
 
+  /**
+   * Sends multiple SMS, e.g. personalised notifications of the same template, in as few requests
+   * as the provider allows. Sent one by one unless the provider supports batch requests.
+   *
+   * @return Result of each SMS, in the order of the given SMS
+   */
+  default List<SimpleResult> sendBatch(List<Sms> smsList, MessageChannel channel) {
+    List<SimpleResult> results = new ArrayList<>(smsList.size());
+    for (Sms sms : smsList) {
+      results.add(sendSms(sms, channel));
+    }
+    return results;
+  }
+
   MessageChannel getInstallationChannel();
 
   @Override
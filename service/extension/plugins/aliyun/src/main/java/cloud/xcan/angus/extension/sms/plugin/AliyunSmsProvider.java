@@ -8,15 +8,31 @@ import cloud.xcan.angus.extension.sms.api.SmsProvider;
 import cloud.xcan.angus.plugin.api.Extension;
 import cloud.xcan.angus.spec.experimental.SimpleResult;
 import com.aliyun.dysmsapi20170525.Client;
+import com.aliyun.dysmsapi20170525.models.SendBatchSmsRequest;
+import com.aliyun.dysmsapi20170525.models.SendBatchSmsResponse;
 import com.aliyun.dysmsapi20170525.models.SendSmsRequest;
 import com.aliyun.dysmsapi20170525.models.SendSmsResponse;
 import com.aliyun.teaopenapi.models.Config;
 import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 
 @Extension
 public class AliyunSmsProvider implements SmsProvider {
 
+  /**
+   * Maximum mobiles of a SendBatchSms request.
+   *
+   * @see https://help.aliyun.com/document_detail/419274.html
+   */
+  private static final int MAX_BATCH_MOBILES = 100;
+
   private final Gson gson;
 
   public AliyunSmsProvider() {
@@ -29,10 +45,8 @@ public class AliyunSmsProvider implements SmsProvider {
   @Override
   public SimpleResult sendSms(Sms sms, MessageChannel channel) {
     try {
-      Config config = new Config().setAccessKeyId(channel.getAccessKeyId())
-          .setAccessKeySecret(channel.getAccessKeySecret())
-          .setEndpoint(channel.getEndpoint());
-      SendSmsResponse response = new Client(config).sendSms(smsToSendSmsRequest(sms));
+      SendSmsResponse response = new Client(channelToConfig(channel))
+          .sendSms(smsToSendSmsRequest(sms));
       return new SimpleResult()
           .setCode("OK".equals(response.body.getCode()) ? SUCCESS_CODE : response.body.getCode())
           .setMessage(response.body.getMessage());
@@ -42,6 +56,82 @@ public class AliyunSmsProvider implements SmsProvider {
     }
   }
 
+  /**
+   * Sends personalised SMS of the same template with SendBatchSms, up to 100 mobiles with their
+   * own signature and parameters per request.
+   */
+  @Override
+  public List<SimpleResult> sendBatch(List<Sms> smsList, MessageChannel channel) {
+    SimpleResult[] results = new SimpleResult[smsList.size()];
+    Client client;
+    try {
+      client = new Client(channelToConfig(channel));
+    } catch (Exception e) {
+      e.printStackTrace();
+      Arrays.fill(results, new SimpleResult().setCode("exception").setMessage(e.getMessage()));
+      return Arrays.asList(results);
+    }
+
+    // A request takes a single template
+    Map<String, List<Integer>> templateSmsIndexes = new LinkedHashMap<>();
+    for (int i = 0; i < smsList.size(); i++) {
+      templateSmsIndexes.computeIfAbsent(smsList.get(i).getTemplateCode(),
+          code -> new ArrayList<>()).add(i);
+    }
+    for (Map.Entry<String, List<Integer>> entry : templateSmsIndexes.entrySet()) {
+      BatchRequest request = new BatchRequest(entry.getKey());
+      for (Integer index : entry.getValue()) {
+        Sms sms = smsList.get(index);
+        if (sms.getMobiles() == null) {
+          continue;
+        }
+        for (String mobile : sms.getMobiles()) {
+          request.add(index, mobile, sms);
+          if (request.mobiles.size() >= MAX_BATCH_MOBILES) {
+            sendBatch0(client, request, results);
+            request = new BatchRequest(entry.getKey());
+          }
+        }
+      }
+      if (!request.mobiles.isEmpty()) {
+        sendBatch0(client, request, results);
+      }
+    }
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] == null) {
+        // Without mobiles
+        results[i] = new SimpleResult().setCode("exception").setMessage("Mobiles are missing");
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  private void sendBatch0(Client client, BatchRequest request, SimpleResult[] results) {
+    SimpleResult result;
+    try {
+      SendBatchSmsRequest batchRequest = new SendBatchSmsRequest()
+          .setTemplateCode(request.templateCode)
+          .setPhoneNumberJson(gson.toJson(request.mobiles))
+          .setSignNameJson(gson.toJson(request.signs));
+      if (request.params.stream().anyMatch(params -> !params.isEmpty())) {
+        batchRequest.setTemplateParamJson(gson.toJson(request.params));
+      }
+      SendBatchSmsResponse response = client.sendBatchSms(batchRequest);
+      result = new SimpleResult()
+          .setCode("OK".equals(response.body.getCode()) ? SUCCESS_CODE : response.body.getCode())
+          .setMessage(response.body.getMessage());
+    } catch (Exception e) {
+      e.printStackTrace();
+      result = new SimpleResult().setCode("exception").setMessage(e.getMessage());
+    }
+    // An SMS split over requests fails when any of them fails
+    for (Integer index : request.smsIndexes) {
+      if (results[index] == null || !result.isSuccess()) {
+        results[index] = result;
+      }
+    }
+  }
+
   /**
    * Private version requires tenants to configure their own SMS channel information
    */
@@ -56,6 +146,12 @@ public class AliyunSmsProvider implements SmsProvider {
     );
   }
 
+  private Config channelToConfig(MessageChannel channel) {
+    return new Config().setAccessKeyId(channel.getAccessKeyId())
+        .setAccessKeySecret(channel.getAccessKeySecret())
+        .setEndpoint(channel.getEndpoint());
+  }
+
   private SendSmsRequest smsToSendSmsRequest(Sms sms) {
     return new SendSmsRequest().setSignName(sms.getSign())
         // Up to 1000 mobile numbers are supported
@@ -65,4 +161,24 @@ public class AliyunSmsProvider implements SmsProvider {
         .setTemplateParam(gson.toJson(sms.getTemplateParams()));
   }
 
+  private static class BatchRequest {
+
+    private final String templateCode;
+    private final List<String> mobiles = new ArrayList<>();
+    private final List<String> signs = new ArrayList<>();
+    private final List<Map<String, String>> params = new ArrayList<>();
+    private final Set<Integer> smsIndexes = new LinkedHashSet<>();
+
+    BatchRequest(String templateCode) {
+      this.templateCode = templateCode;
+    }
+
+    void add(int smsIndex, String mobile, Sms sms) {
+      mobiles.add(mobile);
+      signs.add(sms.getSign());
+      params.add(sms.getTemplateParams() == null ? Map.of() : sms.getTemplateParams());
+      smsIndexes.add(smsIndex);
+    }
+  }
+
 }
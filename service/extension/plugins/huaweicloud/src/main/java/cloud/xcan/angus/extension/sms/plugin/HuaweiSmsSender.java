@@ -72,6 +72,19 @@ public class HuaweiSmsSender {
     return sendHttps(url, body, appKey, appSecret);
   }
 
+  /**
+   * Sends SMS with different templates or parameters in one request.
+   *
+   * @param url  batchSendDiffSms address
+   * @param body JSON body with the <code>from</code> channel and the <code>smsContent</code>
+   *             list
+   * @see https://support.huaweicloud.com/api-msgsms/sms_05_0002.html
+   */
+  public static String sendDiff(String url, String appKey, String appSecret, String body)
+      throws Exception {
+    return sendHttps(url, body, "application/json;charset=UTF-8", appKey, appSecret);
+  }
+
   /**
    * 构造请求Body体
    *
@@ -172,6 +185,11 @@ public class HuaweiSmsSender {
 
   static String sendHttps(String url, String body, String appKey, String appSecret)
       throws Exception {
+    return sendHttps(url, body, "application/x-www-form-urlencoded", appKey, appSecret);
+  }
+
+  static String sendHttps(String url, String body, String contentType, String appKey,
+      String appSecret) throws Exception {
 
     //请求Body为空
     if (null == body || body.isEmpty()) {
@@ -204,14 +222,15 @@ public class HuaweiSmsSender {
       //请求方法
       connection.setRequestMethod("POST");
       //请求Headers参数
-      connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+      connection.setRequestProperty("Content-Type", contentType);
       connection.setRequestProperty("Authorization", AUTH_HEADER_VALUE);
       connection.setRequestProperty("X-WSSE", wsseHeader);
 
       connection.connect();
 
       // Use try-with-resources for proper resource management
-      try (OutputStreamWriter out = new OutputStreamWriter(connection.getOutputStream())) {
+      try (OutputStreamWriter out = new OutputStreamWriter(connection.getOutputStream(),
+          StandardCharsets.UTF_8)) {
         out.write(body); //发送请求Body参数
         out.flush();
       }
@@ -8,12 +8,23 @@ import cloud.xcan.angus.extension.sms.api.SmsProvider;
 import cloud.xcan.angus.plugin.api.Extension;
 import cloud.xcan.angus.spec.experimental.SimpleResult;
 import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 
 @Extension
 public class HuaweicloudSmsProvider implements SmsProvider {
 
+  /**
+   * Maximum SMS contents of a batchSendDiffSms request.
+   */
+  private static final int MAX_BATCH_CONTENTS = 100;
+
+  private static final String SUCCESS_STATUS = "000000";
+
   private final Gson GSON;
 
   public HuaweicloudSmsProvider() {
@@ -45,6 +56,87 @@ public class HuaweicloudSmsProvider implements SmsProvider {
     }
   }
 
+  /**
+   * Sends SMS with their own template and parameters with batchSendDiffSms, up to 100 SMS per
+   * request. Sent one by one when the channel endpoint is not a batchSendSms address the
+   * batchSendDiffSms address can be derived from.
+   */
+  @Override
+  public List<SimpleResult> sendBatch(List<Sms> smsList, MessageChannel channel) {
+    String endpoint = channel.getEndpoint();
+    if (endpoint == null || !endpoint.contains("/batchSendSms/")) {
+      return SmsProvider.super.sendBatch(smsList, channel);
+    }
+    String diffUrl = endpoint.replace("/batchSendSms/", "/batchSendDiffSms/");
+
+    List<SimpleResult> results = new ArrayList<>(smsList.size());
+    for (int from = 0; from < smsList.size(); from += MAX_BATCH_CONTENTS) {
+      List<Sms> batch = smsList.subList(from, Math.min(smsList.size(), from + MAX_BATCH_CONTENTS));
+      results.addAll(sendBatch0(diffUrl, batch, channel));
+    }
+    return results;
+  }
+
+  private List<SimpleResult> sendBatch0(String diffUrl, List<Sms> batch, MessageChannel channel) {
+    List<Map<String, Object>> contents = new ArrayList<>(batch.size());
+    for (Sms sms : batch) {
+      Map<String, Object> content = new LinkedHashMap<>();
+      content.put("to", sms.getMobiles());
+      content.put("templateId", sms.getTemplateCode());
+      if (sms.getTemplateParams() != null && !sms.getTemplateParams().isEmpty()) {
+        content.put("templateParas", new ArrayList<>(sms.getTemplateParams().values()));
+      }
+      if (StringUtils.isNotEmpty(sms.getSign())) {
+        content.put("signature", sms.getSign());
+      }
+      contents.add(content);
+    }
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("from", channel.getThirdChannelNo());
+    body.put("smsContent", contents);
+
+    SimpleResult batchResult;
+    Map<String, String> mobileStatus = new HashMap<>();
+    try {
+      String result = HuaweiSmsSender.sendDiff(diffUrl, channel.getAccessKeyId(),
+          channel.getAccessKeySecret(), GSON.toJson(body));
+      Map<?, ?> resultMap = GSON.fromJson(result, Map.class);
+      batchResult = new SimpleResult()
+          .setCode(SUCCESS_STATUS.equals(String.valueOf(resultMap.get("code"))) ? SUCCESS_CODE
+              : String.valueOf(resultMap.get("code")))
+          .setMessage(String.valueOf(resultMap.get("description")));
+      if (resultMap.get("result") instanceof List<?> mobileResults) {
+        for (Object mobileResult : mobileResults) {
+          if (mobileResult instanceof Map<?, ?> mobileResultMap) {
+            mobileStatus.put(String.valueOf(mobileResultMap.get("originTo")),
+                String.valueOf(mobileResultMap.get("status")));
+          }
+        }
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+      batchResult = new SimpleResult().setCode("exception").setMessage(e.getMessage());
+    }
+
+    List<SimpleResult> results = new ArrayList<>(batch.size());
+    for (Sms sms : batch) {
+      SimpleResult result = batchResult;
+      if (batchResult.isSuccess() && sms.getMobiles() != null) {
+        // Accepted request, mobiles may still be rejected one by one
+        for (String mobile : sms.getMobiles()) {
+          String status = mobileStatus.get(mobile);
+          if (status != null && !SUCCESS_STATUS.equals(status)) {
+            result = new SimpleResult().setCode(status)
+                .setMessage("Sending to mobile " + mobile + " failed");
+            break;
+          }
+        }
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
   /**
    * Private version requires tenants to configure their own SMS channel information
    */